@@ -0,0 +1,158 @@
+package com.th3rdwave.safeareacontext;
+
+import android.content.Context;
+import android.view.DisplayCutout;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.WindowInsets;
+
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.uimanager.events.RCTEventEmitter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the code that runs on every frame or every insets change. The view hierarchy is a
+ * 1080x2340 window with a status bar, a navigation bar and a notch, a full screen provider and a
+ * view nested below a header.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class InsetsBenchmark {
+  private ViewGroup mRootView;
+  private ViewGroup mProviderView;
+  private View mNestedView;
+
+  private final EdgeInsets mInsets = new EdgeInsets();
+  private final Rect mFrame = new Rect();
+  private final android.graphics.Rect mTmpRect = new android.graphics.Rect();
+
+  private SafeAreaViewShadowNode mShadowNode;
+  private SafeAreaViewLocalData mLocalData;
+  private SafeAreaViewLocalData mLandscapeLocalData;
+  private boolean mIsLandscape;
+  private EdgeInsets mLocalDataInsets;
+  private EdgeInsets mEventInsets;
+  private Rect mEventFrame;
+  private WritableMap mLastEvent;
+  private final RCTEventEmitter mEventEmitter = new RCTEventEmitter() {
+    @Override
+    public void receiveEvent(int targetTag, String eventName, WritableMap event) {
+      mLastEvent = event;
+    }
+  };
+
+  @Setup
+  public void setup() {
+    Context context = new Context();
+    mRootView = new ViewGroup(context);
+    mRootView.layout(0, 0, 1080, 2340);
+    mRootView.setRootWindowInsets(new WindowInsets(80, 0, 63, 0, 63, new DisplayCutout(80)));
+
+    mProviderView = new ViewGroup(context);
+    mRootView.addView(mProviderView);
+    mProviderView.layout(0, 0, 1080, 2340);
+
+    mNestedView = new View(context);
+    mProviderView.addView(mNestedView);
+    mNestedView.layout(0, 200, 1080, 2340);
+
+    mShadowNode = new SafeAreaViewShadowNode();
+    mLocalData = SafeAreaViewLocalData.obtain(
+        new EdgeInsets(80, 0, 63, 0),
+        SafeAreaViewMode.PADDING,
+        SafeAreaViewEdges.ALL);
+    mLandscapeLocalData = SafeAreaViewLocalData.obtain(
+        new EdgeInsets(0, 63, 0, 80),
+        SafeAreaViewMode.PADDING,
+        SafeAreaViewEdges.ALL);
+    mLocalDataInsets = new EdgeInsets(80, 0, 63, 0);
+    mEventInsets = new EdgeInsets(80, 0, 63, 0);
+    mEventFrame = new Rect(0, 0, 1080, 2340);
+    // Like every call made by the scheduler in a frame, the root window insets are reused.
+    SafeAreaUtils.beginInsetsPass();
+  }
+
+  @Benchmark
+  public boolean getSafeAreaInsets() {
+    return SafeAreaUtils.getSafeAreaInsets(mProviderView, mInsets, mTmpRect);
+  }
+
+  /**
+   * Every call is in a new frame so the root window insets are never reused.
+   */
+  @Benchmark
+  public boolean getSafeAreaInsetsNewFrame() {
+    SafeAreaUtils.endInsetsPass();
+    SafeAreaUtils.beginInsetsPass();
+    return SafeAreaUtils.getSafeAreaInsets(mProviderView, mInsets, mTmpRect);
+  }
+
+  @Benchmark
+  public boolean getSafeAreaInsetsNested() {
+    return SafeAreaUtils.getSafeAreaInsets(mNestedView, mInsets, mTmpRect);
+  }
+
+  @Benchmark
+  public boolean getFrame() {
+    return SafeAreaUtils.getFrame(mRootView, mNestedView, mFrame, mTmpRect);
+  }
+
+  @Benchmark
+  public SafeAreaViewShadowNode shadowNodeUpdateInsets() {
+    mShadowNode.setLocalData(mLocalData);
+    return mShadowNode;
+  }
+
+  @Benchmark
+  public SafeAreaViewShadowNode shadowNodeUpdateInsetsChanged() {
+    mIsLandscape = !mIsLandscape;
+    mShadowNode.setLocalData(mIsLandscape ? mLandscapeLocalData : mLocalData);
+    return mShadowNode;
+  }
+
+  @Benchmark
+  public SafeAreaViewLocalData obtainLocalData() {
+    return SafeAreaViewLocalData.obtain(mLocalDataInsets, SafeAreaViewMode.PADDING, SafeAreaViewEdges.ALL);
+  }
+
+  @Benchmark
+  public WritableMap edgeInsetsToJsMap() {
+    return SerializationUtils.edgeInsetsToJsMap(mEventInsets);
+  }
+
+  @Benchmark
+  public WritableMap dispatchInsetsChangeEvent() {
+    new InsetsChangeEvent(1, mEventInsets, mEventFrame).dispatch(mEventEmitter);
+    return mLastEvent;
+  }
+
+  @Benchmark
+  public WritableMap dispatchInsetsChangeEventDelta() {
+    new InsetsChangeEvent(1, mEventInsets, mEventFrame, InsetsEventFormat.DELTA, InsetsChangeEvent.FIELD_BOTTOM, 2)
+        .dispatch(mEventEmitter);
+    return mLastEvent;
+  }
+
+  @Benchmark
+  public WritableMap dispatchInsetsChangeEventCompact() {
+    new InsetsChangeEvent(1, mEventInsets, mEventFrame, InsetsEventFormat.COMPACT, InsetsChangeEvent.ALL_FIELDS, 0)
+        .dispatch(mEventEmitter);
+    return mLastEvent;
+  }
+}
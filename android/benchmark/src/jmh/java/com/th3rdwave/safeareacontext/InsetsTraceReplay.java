@@ -0,0 +1,339 @@
+package com.th3rdwave.safeareacontext;
+
+import android.content.Context;
+import android.view.Display;
+import android.view.DisplayCutout;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.WindowInsets;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replays a trace written by {@link InsetsTraceRecorder} against the library code compiled for
+ * the JVM. Every record is rebuilt as a view hierarchy with the recorded window insets, display
+ * and device values, the insets or frame are computed again and compared with the recorded ones.
+ *
+ * Run with `gradle replayTrace -Ptrace=path/to/trace`. The device brand, manufacturer and sdk
+ * version of the trace are applied before any library class is loaded.
+ */
+public final class InsetsTraceReplay {
+  private static final float EPSILON = 0.01f;
+  private static final int MAX_REPORTED_MISMATCHES = 20;
+  private static final String[] NAVIGATION_BAR_SETTING_NAMES = {
+      "navigationbar_is_min",
+      "force_fsg_nav_bar",
+      "navigation_gesture_on",
+      "hide_navigationbar_enable",
+  };
+
+  private static final class InsetsRecord {
+    int rootWidth;
+    int rootHeight;
+    boolean hasWindowInsets;
+    int systemTop;
+    int systemRight;
+    int systemBottom;
+    int systemLeft;
+    int stableBottom;
+    boolean hasCutout;
+    int cutoutSafeInsetTop;
+    final android.graphics.Rect visibleFrame = new android.graphics.Rect();
+    int viewWidth;
+    int viewHeight;
+    final android.graphics.Rect globalRect = new android.graphics.Rect();
+    int legacyNotchHeight;
+    int navigationBarHeight;
+    int realDisplayWidth;
+    int realDisplayHeight;
+    int displayWidth;
+    int displayHeight;
+    int navigationBarSetting;
+    boolean hasInsets;
+    final EdgeInsets insets = new EdgeInsets();
+
+    String profileKey() {
+      return legacyNotchHeight + "," + navigationBarHeight + "," + realDisplayWidth + "x" + realDisplayHeight +
+          "," + displayWidth + "x" + displayHeight;
+    }
+  }
+
+  private static final class FrameRecord {
+    int viewWidth;
+    int viewHeight;
+    final android.graphics.Rect drawingRect = new android.graphics.Rect();
+    // left, top, scrollX, scrollY of the view then of each ancestor below the root view.
+    int[] chain;
+    final Rect frame = new Rect();
+  }
+
+  private final List<Object> mRecords = new ArrayList<>();
+  private final Context mContext = new Context();
+  private final Map<String, Display> mDisplays = new HashMap<>();
+  private int mNavigationBarSetting = -1;
+  private int mMismatchCount = 0;
+  private boolean mReportMismatches = false;
+
+  private final EdgeInsets mInsets = new EdgeInsets();
+  private final Rect mFrame = new Rect();
+  private final android.graphics.Rect mTmpRect = new android.graphics.Rect();
+
+  public static void main(String[] args) throws IOException {
+    if (args.length != 1) {
+      System.err.println("Usage: InsetsTraceReplay <trace>");
+      System.exit(2);
+    }
+    DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(args[0])));
+    InsetsTraceReplay replay;
+    try {
+      replay = new InsetsTraceReplay();
+      int recordCount = readHeader(input);
+      replay.read(input, recordCount);
+    } finally {
+      input.close();
+    }
+
+    int mismatchCount = replay.replay(true);
+    System.out.println(replay.mRecords.size() + " records replayed, " + mismatchCount + " mismatches.");
+
+    int iterations = Math.max(1, 1000000 / Math.max(1, replay.mRecords.size()));
+    long startTime = System.nanoTime();
+    for (int i = 0; i < iterations; i += 1) {
+      replay.replay(false);
+    }
+    long elapsed = System.nanoTime() - startTime;
+    System.out.println(String.format("%.1f ns per record over %d passes.",
+        (double) elapsed / ((long) iterations * Math.max(1, replay.mRecords.size())), iterations));
+    System.exit(mismatchCount > 0 ? 1 : 0);
+  }
+
+  /**
+   * Reads the header and applies the device values of the trace, this must happen before
+   * android.os.Build is initialized.
+   */
+  private static int readHeader(DataInputStream input) throws IOException {
+    if (input.readInt() != InsetsTraceRecorder.MAGIC) {
+      throw new IOException("Not an insets trace.");
+    }
+    int version = input.readInt();
+    if (version != InsetsTraceRecorder.VERSION) {
+      throw new IOException("Unsupported trace version " + version + ".");
+    }
+    System.setProperty("android.sdk", String.valueOf(input.readInt()));
+    System.setProperty("android.brand", input.readUTF());
+    System.setProperty("android.manufacturer", input.readUTF());
+    return input.readInt();
+  }
+
+  private void read(DataInputStream input, int recordCount) throws IOException {
+    for (int i = 0; i < recordCount; i += 1) {
+      byte type = input.readByte();
+      if (type == InsetsTraceRecorder.RECORD_INSETS) {
+        mRecords.add(readInsetsRecord(input));
+      } else if (type == InsetsTraceRecorder.RECORD_FRAME) {
+        mRecords.add(readFrameRecord(input));
+      } else {
+        throw new IOException("Unknown record type " + type + ".");
+      }
+    }
+  }
+
+  private static InsetsRecord readInsetsRecord(DataInputStream input) throws IOException {
+    InsetsRecord record = new InsetsRecord();
+    record.rootWidth = input.readInt();
+    record.rootHeight = input.readInt();
+    record.hasWindowInsets = input.readBoolean();
+    record.systemTop = input.readInt();
+    record.systemRight = input.readInt();
+    record.systemBottom = input.readInt();
+    record.systemLeft = input.readInt();
+    record.stableBottom = input.readInt();
+    record.hasCutout = input.readBoolean();
+    record.cutoutSafeInsetTop = input.readInt();
+    readRect(input, record.visibleFrame);
+    record.viewWidth = input.readInt();
+    record.viewHeight = input.readInt();
+    readRect(input, record.globalRect);
+    record.legacyNotchHeight = input.readInt();
+    record.navigationBarHeight = input.readInt();
+    record.realDisplayWidth = input.readInt();
+    record.realDisplayHeight = input.readInt();
+    record.displayWidth = input.readInt();
+    record.displayHeight = input.readInt();
+    record.navigationBarSetting = input.readInt();
+    record.hasInsets = input.readBoolean();
+    record.insets.set(input.readFloat(), input.readFloat(), input.readFloat(), input.readFloat());
+    return record;
+  }
+
+  private static FrameRecord readFrameRecord(DataInputStream input) throws IOException {
+    FrameRecord record = new FrameRecord();
+    record.viewWidth = input.readInt();
+    record.viewHeight = input.readInt();
+    readRect(input, record.drawingRect);
+    int depth = input.readInt();
+    if (depth <= 0) {
+      throw new IOException("Invalid frame record depth " + depth + ".");
+    }
+    record.chain = new int[depth * 4];
+    for (int i = 0; i < record.chain.length; i += 1) {
+      record.chain[i] = input.readInt();
+    }
+    record.frame.set(input.readFloat(), input.readFloat(), input.readFloat(), input.readFloat());
+    return record;
+  }
+
+  private static void readRect(DataInputStream input, android.graphics.Rect rect) throws IOException {
+    rect.set(input.readInt(), input.readInt(), input.readInt(), input.readInt());
+  }
+
+  /**
+   * @return the number of records whose result differs from the recorded one.
+   */
+  private int replay(boolean reportMismatches) {
+    mReportMismatches = reportMismatches;
+    mMismatchCount = 0;
+    for (int i = 0; i < mRecords.size(); i += 1) {
+      Object record = mRecords.get(i);
+      if (record instanceof InsetsRecord) {
+        replayInsets(i, (InsetsRecord) record);
+      } else {
+        replayFrame(i, (FrameRecord) record);
+      }
+    }
+    return mMismatchCount;
+  }
+
+  private void replayInsets(int index, InsetsRecord record) {
+    ViewGroup rootView = new ViewGroup(mContext);
+    rootView.layout(0, 0, record.rootWidth, record.rootHeight);
+    rootView.setDisplay(getDisplay(record));
+    if (record.hasWindowInsets) {
+      rootView.setRootWindowInsets(new WindowInsets(
+          record.systemTop,
+          record.systemRight,
+          record.systemBottom,
+          record.systemLeft,
+          record.stableBottom,
+          record.hasCutout ? new DisplayCutout(record.cutoutSafeInsetTop) : null));
+    }
+    rootView.setWindowVisibleDisplayFrame(
+        record.visibleFrame.left, record.visibleFrame.top, record.visibleFrame.right, record.visibleFrame.bottom);
+    // Only the position and size of the view are used, not its ancestors.
+    View view = new View(mContext);
+    rootView.addView(view);
+    view.layout(
+        record.globalRect.left,
+        record.globalRect.top,
+        record.globalRect.left + record.viewWidth,
+        record.globalRect.top + record.viewHeight);
+    setNavigationBarSetting(record.navigationBarSetting);
+
+    boolean hasInsets = SafeAreaUtils.getSafeAreaInsets(view, mInsets, mTmpRect);
+    if (hasInsets != record.hasInsets || (hasInsets && !equals(mInsets, record.insets))) {
+      reportMismatch(index, "insets", record.hasInsets ? toString(record.insets) : "none", hasInsets ? toString(mInsets) : "none");
+    }
+  }
+
+  private void replayFrame(int index, FrameRecord record) {
+    // Rebuilds the recorded ancestors from the root down, only their position and scroll are
+    // read by getFrame.
+    ViewGroup rootView = new ViewGroup(mContext);
+    ViewGroup parent = rootView;
+    for (int i = record.chain.length - 4; i > 0; i -= 4) {
+      ViewGroup ancestor = new ViewGroup(mContext);
+      parent.addView(ancestor);
+      ancestor.layout(record.chain[i], record.chain[i + 1], record.chain[i], record.chain[i + 1]);
+      ancestor.scrollTo(record.chain[i + 2], record.chain[i + 3]);
+      parent = ancestor;
+    }
+    View view = new View(mContext);
+    parent.addView(view);
+    view.layout(record.chain[0], record.chain[1], record.chain[0] + record.viewWidth, record.chain[1] + record.viewHeight);
+    view.scrollTo(record.chain[2], record.chain[3]);
+
+    view.getDrawingRect(mTmpRect);
+    if (!mTmpRect.equals(record.drawingRect)) {
+      reportMismatch(index, "drawing rect", toString(record.drawingRect), toString(mTmpRect));
+      return;
+    }
+    if (!SafeAreaUtils.getFrame(rootView, view, mFrame, mTmpRect) ||
+        Math.abs(mFrame.x - record.frame.x) > EPSILON ||
+        Math.abs(mFrame.y - record.frame.y) > EPSILON ||
+        Math.abs(mFrame.width - record.frame.width) > EPSILON ||
+        Math.abs(mFrame.height - record.frame.height) > EPSILON) {
+      reportMismatch(index, "frame", toString(record.frame), toString(mFrame));
+    }
+  }
+
+  /**
+   * Displays are created per distinct set of device values so DeviceInsetsProfile caches one
+   * profile for each of them, like it does for a configuration on a device.
+   */
+  private Display getDisplay(InsetsRecord record) {
+    String key = record.profileKey();
+    Display display = mDisplays.get(key);
+    if (display == null) {
+      display = new Display();
+      display.displayId = mDisplays.size() + 1;
+      display.realMetrics.widthPixels = record.realDisplayWidth;
+      display.realMetrics.heightPixels = record.realDisplayHeight;
+      display.metrics.widthPixels = record.displayWidth;
+      display.metrics.heightPixels = record.displayHeight;
+      mDisplays.put(key, display);
+    }
+    // Read by the profile when it is created for this display.
+    if (record.legacyNotchHeight > 0) {
+      mContext.getResources().dimensions.put("notch_height", record.legacyNotchHeight);
+    } else {
+      mContext.getResources().dimensions.remove("notch_height");
+    }
+    mContext.getResources().dimensions.put("navigation_bar_height", record.navigationBarHeight);
+    return display;
+  }
+
+  private void setNavigationBarSetting(int value) {
+    if (value == -1 || value == mNavigationBarSetting) {
+      return;
+    }
+    mNavigationBarSetting = value;
+    // The setting name depends on the brand, only the one for the trace brand is read.
+    for (String name : NAVIGATION_BAR_SETTING_NAMES) {
+      mContext.getContentResolver().settings.put(name, value);
+    }
+    mContext.getContentResolver().notifyChange(null, null);
+  }
+
+  private void reportMismatch(int index, String kind, String expected, String actual) {
+    mMismatchCount += 1;
+    if (mReportMismatches && mMismatchCount <= MAX_REPORTED_MISMATCHES) {
+      System.out.println("Record " + index + ": " + kind + " mismatch, recorded " + expected + ", replayed " + actual + ".");
+    }
+  }
+
+  private static boolean equals(EdgeInsets a, EdgeInsets b) {
+    return Math.abs(a.top - b.top) <= EPSILON &&
+        Math.abs(a.right - b.right) <= EPSILON &&
+        Math.abs(a.bottom - b.bottom) <= EPSILON &&
+        Math.abs(a.left - b.left) <= EPSILON;
+  }
+
+  private static String toString(EdgeInsets insets) {
+    return "{top: " + insets.top + ", right: " + insets.right + ", bottom: " + insets.bottom + ", left: " + insets.left + "}";
+  }
+
+  private static String toString(android.graphics.Rect rect) {
+    return "{left: " + rect.left + ", top: " + rect.top + ", right: " + rect.right + ", bottom: " + rect.bottom + "}";
+  }
+
+  private static String toString(Rect frame) {
+    return "{x: " + frame.x + ", y: " + frame.y + ", width: " + frame.width + ", height: " + frame.height + "}";
+  }
+}
@@ -0,0 +1,16 @@
+package android;
+
+/**
+ * Stand-in for the Android resource ids.
+ */
+public final class R {
+  private R() {
+  }
+
+  public static final class id {
+    public static final int content = 0x01020002;
+
+    private id() {
+    }
+  }
+}
@@ -0,0 +1,8 @@
+package android.annotation;
+
+/**
+ * Stand-in for the Android annotation.
+ */
+public @interface SuppressLint {
+  String[] value();
+}
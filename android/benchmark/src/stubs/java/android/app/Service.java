@@ -0,0 +1,9 @@
+package android.app;
+
+import android.content.Context;
+
+/**
+ * Stand-in for the Android class.
+ */
+public abstract class Service extends Context {
+}
@@ -0,0 +1,31 @@
+package android.content;
+
+import android.database.ContentObserver;
+import android.net.Uri;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stand-in for the Android class, backs settings with an in-memory map.
+ */
+public class ContentResolver {
+  public final Map<String, Integer> settings = new HashMap<>();
+
+  private final List<ContentObserver> mObservers = new ArrayList<>();
+
+  public void registerContentObserver(Uri uri, boolean notifyForDescendants, ContentObserver observer) {
+    mObservers.add(observer);
+  }
+
+  /**
+   * Notifies all observers synchronously, whatever uri they were registered for.
+   */
+  public void notifyChange(Uri uri, ContentObserver observer) {
+    for (ContentObserver o : mObservers) {
+      o.onChange(false);
+    }
+  }
+}
@@ -0,0 +1,59 @@
+package android.content;
+
+import android.content.pm.PackageManager;
+import android.content.res.Resources;
+import android.hardware.display.DisplayManager;
+import android.view.Display;
+import android.view.WindowManager;
+
+/**
+ * Stand-in for the Android class, only implements what the insets code uses.
+ */
+public class Context {
+  public static final String WINDOW_SERVICE = "window";
+  public static final String DISPLAY_SERVICE = "display";
+
+  private final Resources mResources = new Resources();
+  private final PackageManager mPackageManager = new PackageManager();
+  private final ContentResolver mContentResolver = new ContentResolver();
+  private final WindowManager mWindowManager = new WindowManager();
+  private final DisplayManager mDisplayManager = new DisplayManager(mWindowManager.getDefaultDisplay());
+
+  public Context getApplicationContext() {
+    return this;
+  }
+
+  public ClassLoader getClassLoader() {
+    return Context.class.getClassLoader();
+  }
+
+  public Resources getResources() {
+    return mResources;
+  }
+
+  public PackageManager getPackageManager() {
+    return mPackageManager;
+  }
+
+  public ContentResolver getContentResolver() {
+    return mContentResolver;
+  }
+
+  public Object getSystemService(String name) {
+    if (WINDOW_SERVICE.equals(name)) {
+      return mWindowManager;
+    }
+    return DISPLAY_SERVICE.equals(name) ? mDisplayManager : null;
+  }
+
+  /**
+   * Displays share the resources of this context.
+   */
+  public Context createDisplayContext(Display display) {
+    return this;
+  }
+
+  public Display getDisplay() {
+    return mWindowManager.getDefaultDisplay();
+  }
+}
@@ -0,0 +1,16 @@
+package android.content;
+
+/**
+ * Stand-in for the Android class.
+ */
+public class ContextWrapper extends Context {
+  private final Context mBase;
+
+  public ContextWrapper(Context base) {
+    mBase = base;
+  }
+
+  public Context getBaseContext() {
+    return mBase;
+  }
+}
@@ -0,0 +1,15 @@
+package android.content.pm;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Stand-in for the Android class.
+ */
+public class PackageManager {
+  public final Set<String> systemFeatures = new HashSet<>();
+
+  public boolean hasSystemFeature(String name) {
+    return systemFeatures.contains(name);
+  }
+}
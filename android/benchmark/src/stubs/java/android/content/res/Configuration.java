@@ -0,0 +1,14 @@
+package android.content.res;
+
+/**
+ * Stand-in for the Android class.
+ */
+public class Configuration {
+  public static final int ORIENTATION_PORTRAIT = 1;
+  public static final int ORIENTATION_LANDSCAPE = 2;
+
+  public int orientation = ORIENTATION_PORTRAIT;
+  public int densityDpi = 420;
+  public int screenWidthDp = 411;
+  public int screenHeightDp = 891;
+}
@@ -0,0 +1,40 @@
+package android.content.res;
+
+import android.util.DisplayMetrics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Stand-in for the Android class, resolves "android" dimensions from an in-memory map.
+ */
+public class Resources {
+  public final Map<String, Integer> dimensions = new HashMap<>();
+
+  private final DisplayMetrics mDisplayMetrics = new DisplayMetrics();
+  private final Configuration mConfiguration = new Configuration();
+  private final Map<Integer, String> mNames = new HashMap<>();
+
+  public int getIdentifier(String name, String defType, String defPackage) {
+    if (!dimensions.containsKey(name)) {
+      return 0;
+    }
+    // Look up the name like the real implementation does.
+    String key = defPackage + ":" + defType + "/" + name;
+    int id = key.hashCode() & 0x7fffffff;
+    mNames.put(id, name);
+    return id;
+  }
+
+  public int getDimensionPixelSize(int id) {
+    return dimensions.get(mNames.get(id));
+  }
+
+  public DisplayMetrics getDisplayMetrics() {
+    return mDisplayMetrics;
+  }
+
+  public Configuration getConfiguration() {
+    return mConfiguration;
+  }
+}
@@ -0,0 +1,15 @@
+package android.database;
+
+import android.os.Handler;
+
+/**
+ * Stand-in for the Android class, notified synchronously by
+ * ContentResolver.notifyChange.
+ */
+public abstract class ContentObserver {
+  public ContentObserver(Handler handler) {
+  }
+
+  public void onChange(boolean selfChange) {
+  }
+}
@@ -0,0 +1,9 @@
+package android.graphics;
+
+/**
+ * Stand-in for the Android class.
+ */
+public class Point {
+  public int x;
+  public int y;
+}
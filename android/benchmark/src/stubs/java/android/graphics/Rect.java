@@ -0,0 +1,61 @@
+package android.graphics;
+
+/**
+ * Stand-in for the Android class.
+ */
+public final class Rect {
+  public int left;
+  public int top;
+  public int right;
+  public int bottom;
+
+  public Rect() {
+  }
+
+  public Rect(int left, int top, int right, int bottom) {
+    set(left, top, right, bottom);
+  }
+
+  public void set(int left, int top, int right, int bottom) {
+    this.left = left;
+    this.top = top;
+    this.right = right;
+    this.bottom = bottom;
+  }
+
+  public void set(Rect src) {
+    set(src.left, src.top, src.right, src.bottom);
+  }
+
+  public void offset(int dx, int dy) {
+    left += dx;
+    top += dy;
+    right += dx;
+    bottom += dy;
+  }
+
+  public int width() {
+    return right - left;
+  }
+
+  public int height() {
+    return bottom - top;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof Rect)) {
+      return false;
+    }
+    Rect r = (Rect) o;
+    return left == r.left && top == r.top && right == r.right && bottom == r.bottom;
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * (31 * (31 * left + top) + right) + bottom;
+  }
+}
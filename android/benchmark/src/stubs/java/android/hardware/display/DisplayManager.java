@@ -0,0 +1,30 @@
+package android.hardware.display;
+
+import android.os.Handler;
+import android.view.Display;
+
+/**
+ * Stand-in for the Android class, display events never happen in the benchmarks.
+ */
+public class DisplayManager {
+  private final Display mDefaultDisplay;
+
+  public DisplayManager(Display defaultDisplay) {
+    mDefaultDisplay = defaultDisplay;
+  }
+
+  public interface DisplayListener {
+    void onDisplayAdded(int displayId);
+
+    void onDisplayRemoved(int displayId);
+
+    void onDisplayChanged(int displayId);
+  }
+
+  public void registerDisplayListener(DisplayListener listener, Handler handler) {
+  }
+
+  public Display getDisplay(int displayId) {
+    return displayId == mDefaultDisplay.getDisplayId() ? mDefaultDisplay : null;
+  }
+}
@@ -0,0 +1,17 @@
+package android.net;
+
+/**
+ * Stand-in for the Android class.
+ */
+public class Uri {
+  private final String mValue;
+
+  public Uri(String value) {
+    mValue = value;
+  }
+
+  @Override
+  public String toString() {
+    return mValue;
+  }
+}
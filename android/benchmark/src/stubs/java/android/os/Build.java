@@ -0,0 +1,23 @@
+package android.os;
+
+/**
+ * Stand-in for the Android class. Values can be overridden with system properties, they are
+ * intentionally not compile time constants so they don't get inlined in the library code.
+ */
+public class Build {
+  public static final String BRAND = System.getProperty("android.brand", "google");
+  public static final String MANUFACTURER = System.getProperty("android.manufacturer", "Google");
+
+  public static class VERSION {
+    public static final int SDK_INT = Integer.getInteger("android.sdk", 30);
+  }
+
+  public static class VERSION_CODES {
+    public static final int JELLY_BEAN_MR1 = 17;
+    public static final int LOLLIPOP = 21;
+    public static final int M = 23;
+    public static final int P = 28;
+    public static final int Q = 29;
+    public static final int R = 30;
+  }
+}
@@ -0,0 +1,9 @@
+package android.os;
+
+/**
+ * Stand-in for the Android class.
+ */
+public class Handler {
+  public Handler(Looper looper) {
+  }
+}
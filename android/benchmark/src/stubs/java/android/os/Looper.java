@@ -0,0 +1,19 @@
+package android.os;
+
+/**
+ * Stand-in for the Android class.
+ */
+public class Looper {
+  private static final Looper sMainLooper = new Looper();
+
+  public static Looper getMainLooper() {
+    return sMainLooper;
+  }
+
+  /**
+   * Benchmarks run their code as if it was on the main thread.
+   */
+  public static Looper myLooper() {
+    return sMainLooper;
+  }
+}
@@ -0,0 +1,27 @@
+package android.provider;
+
+import android.content.ContentResolver;
+import android.net.Uri;
+
+/**
+ * Stand-in for the Android class.
+ */
+public final class Settings {
+  public static final class System {
+    public static int getInt(ContentResolver cr, String name, int def) {
+      Integer value = cr.settings.get(name);
+      return value != null ? value : def;
+    }
+  }
+
+  public static final class Secure {
+    public static Uri getUriFor(String name) {
+      return new Uri("content://settings/secure/" + name);
+    }
+
+    public static int getInt(ContentResolver cr, String name, int def) {
+      Integer value = cr.settings.get(name);
+      return value != null ? value : def;
+    }
+  }
+}
@@ -0,0 +1,18 @@
+package android.util;
+
+/**
+ * Stand-in for the Android class.
+ */
+public class DisplayMetrics {
+  public int widthPixels = 1080;
+  public int heightPixels = 2340;
+  public float density = 2.625f;
+  public int densityDpi = 420;
+
+  public void setTo(DisplayMetrics o) {
+    widthPixels = o.widthPixels;
+    heightPixels = o.heightPixels;
+    density = o.density;
+    densityDpi = o.densityDpi;
+  }
+}
@@ -0,0 +1,39 @@
+package android.view;
+
+import java.util.ArrayList;
+
+/**
+ * Stand-in for the Android class. Posted callbacks only run when {@link #doFrame} is called.
+ */
+public final class Choreographer {
+  public interface FrameCallback {
+    void doFrame(long frameTimeNanos);
+  }
+
+  private static final Choreographer sInstance = new Choreographer();
+
+  private final ArrayList<FrameCallback> mFrameCallbacks = new ArrayList<>();
+
+  public static Choreographer getInstance() {
+    return sInstance;
+  }
+
+  public void postFrameCallback(FrameCallback callback) {
+    mFrameCallbacks.add(callback);
+  }
+
+  public void removeFrameCallback(FrameCallback callback) {
+    mFrameCallbacks.remove(callback);
+  }
+
+  /**
+   * Runs the callbacks posted before this frame, like a vsync.
+   */
+  public void doFrame(long frameTimeNanos) {
+    ArrayList<FrameCallback> callbacks = new ArrayList<>(mFrameCallbacks);
+    mFrameCallbacks.clear();
+    for (FrameCallback callback : callbacks) {
+      callback.doFrame(frameTimeNanos);
+    }
+  }
+}
@@ -0,0 +1,37 @@
+package android.view;
+
+import android.graphics.Point;
+import android.util.DisplayMetrics;
+
+/**
+ * Stand-in for the Android class.
+ */
+public class Display {
+  public static final int DEFAULT_DISPLAY = 0;
+
+  public final DisplayMetrics realMetrics = new DisplayMetrics();
+  public final DisplayMetrics metrics = new DisplayMetrics();
+  public int displayId = 0;
+  public int rotation = 0;
+
+  public int getDisplayId() {
+    return displayId;
+  }
+
+  public int getRotation() {
+    return rotation;
+  }
+
+  public void getRealSize(Point outSize) {
+    outSize.x = realMetrics.widthPixels;
+    outSize.y = realMetrics.heightPixels;
+  }
+
+  public void getRealMetrics(DisplayMetrics outMetrics) {
+    outMetrics.setTo(realMetrics);
+  }
+
+  public void getMetrics(DisplayMetrics outMetrics) {
+    outMetrics.setTo(metrics);
+  }
+}
@@ -0,0 +1,16 @@
+package android.view;
+
+/**
+ * Stand-in for the Android class.
+ */
+public final class DisplayCutout {
+  private final int mSafeInsetTop;
+
+  public DisplayCutout(int safeInsetTop) {
+    mSafeInsetTop = safeInsetTop;
+  }
+
+  public int getSafeInsetTop() {
+    return mSafeInsetTop;
+  }
+}
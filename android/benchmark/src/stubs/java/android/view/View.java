@@ -0,0 +1,236 @@
+package android.view;
+
+import android.content.Context;
+import android.graphics.Rect;
+
+import java.util.ArrayList;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Stand-in for the Android class. Geometry is set directly with {@link #layout} and the root
+ * window insets with {@link #setRootWindowInsets}, there is no measure or draw pass.
+ */
+public class View {
+  public static final int NO_ID = -1;
+
+  public interface OnApplyWindowInsetsListener {
+    WindowInsets onApplyWindowInsets(View v, WindowInsets insets);
+  }
+
+  public interface OnLayoutChangeListener {
+    void onLayoutChange(View v, int left, int top, int right, int bottom, int oldLeft, int oldTop, int oldRight, int oldBottom);
+  }
+
+  private final Context mContext;
+  private int mId = NO_ID;
+  private final ViewTreeObserver mViewTreeObserver = new ViewTreeObserver();
+  private @Nullable OnApplyWindowInsetsListener mOnApplyWindowInsetsListener;
+  private final ArrayList<OnLayoutChangeListener> mOnLayoutChangeListeners = new ArrayList<>();
+  private @Nullable WindowInsetsAnimation.Callback mWindowInsetsAnimationCallback;
+  @Nullable ViewParent mParent;
+  private int mLeft;
+  private int mTop;
+  private int mRight;
+  private int mBottom;
+  private int mScrollX;
+  private int mScrollY;
+  private @Nullable WindowInsets mRootWindowInsets;
+  private final Rect mVisibleDisplayFrame = new Rect();
+  private @Nullable Display mDisplay;
+  private int mSystemUiVisibility;
+  private boolean mIsAttachedToWindow;
+
+  public View(Context context) {
+    mContext = context;
+  }
+
+  public Context getContext() {
+    return mContext;
+  }
+
+  public void setId(int id) {
+    mId = id;
+  }
+
+  public int getId() {
+    return mId;
+  }
+
+  @SuppressWarnings("unchecked")
+  public final @Nullable <T extends View> T findViewById(int id) {
+    return (T) findViewTraversal(id);
+  }
+
+  protected @Nullable View findViewTraversal(int id) {
+    return id == mId ? this : null;
+  }
+
+  /**
+   * Every view of a hierarchy shares the observer of its root view, like attached views share
+   * the one of their window.
+   */
+  public ViewTreeObserver getViewTreeObserver() {
+    return getRootView().mViewTreeObserver;
+  }
+
+  public boolean isAttachedToWindow() {
+    return mIsAttachedToWindow;
+  }
+
+  /**
+   * Attaches the view, and the children of a view group, like adding the root view to a window.
+   */
+  public void dispatchAttachedToWindow() {
+    mIsAttachedToWindow = true;
+    onAttachedToWindow();
+  }
+
+  public void dispatchDetachedFromWindow() {
+    onDetachedFromWindow();
+    mIsAttachedToWindow = false;
+  }
+
+  protected void onAttachedToWindow() {
+  }
+
+  protected void onDetachedFromWindow() {
+  }
+
+  public void setOnApplyWindowInsetsListener(@Nullable OnApplyWindowInsetsListener listener) {
+    mOnApplyWindowInsetsListener = listener;
+  }
+
+  public WindowInsets onApplyWindowInsets(WindowInsets insets) {
+    return insets;
+  }
+
+  public WindowInsets dispatchApplyWindowInsets(WindowInsets insets) {
+    if (mOnApplyWindowInsetsListener != null) {
+      return mOnApplyWindowInsetsListener.onApplyWindowInsets(this, insets);
+    }
+    return onApplyWindowInsets(insets);
+  }
+
+  public void addOnLayoutChangeListener(OnLayoutChangeListener listener) {
+    mOnLayoutChangeListeners.add(listener);
+  }
+
+  public void removeOnLayoutChangeListener(OnLayoutChangeListener listener) {
+    mOnLayoutChangeListeners.remove(listener);
+  }
+
+  public void setWindowInsetsAnimationCallback(@Nullable WindowInsetsAnimation.Callback callback) {
+    mWindowInsetsAnimationCallback = callback;
+  }
+
+  public void requestLayout() {
+  }
+
+  public void invalidate() {
+  }
+
+  public void setDisplay(@Nullable Display display) {
+    mDisplay = display;
+  }
+
+  public @Nullable Display getDisplay() {
+    Display display = getRootView().mDisplay;
+    return display != null ? display : mContext.getDisplay();
+  }
+
+  public void layout(int l, int t, int r, int b) {
+    mLeft = l;
+    mTop = t;
+    mRight = r;
+    mBottom = b;
+  }
+
+  public final int getLeft() {
+    return mLeft;
+  }
+
+  public final int getTop() {
+    return mTop;
+  }
+
+  public final int getWidth() {
+    return mRight - mLeft;
+  }
+
+  public final int getHeight() {
+    return mBottom - mTop;
+  }
+
+  public void scrollTo(int x, int y) {
+    mScrollX = x;
+    mScrollY = y;
+  }
+
+  public final int getScrollX() {
+    return mScrollX;
+  }
+
+  public final int getScrollY() {
+    return mScrollY;
+  }
+
+  public final @Nullable ViewParent getParent() {
+    return mParent;
+  }
+
+  public View getRootView() {
+    View current = this;
+    while (current.mParent instanceof View) {
+      current = (View) current.mParent;
+    }
+    return current;
+  }
+
+  public void setRootWindowInsets(@Nullable WindowInsets insets) {
+    mRootWindowInsets = insets;
+  }
+
+  public @Nullable WindowInsets getRootWindowInsets() {
+    return getRootView().mRootWindowInsets;
+  }
+
+  public void setWindowVisibleDisplayFrame(int l, int t, int r, int b) {
+    mVisibleDisplayFrame.set(l, t, r, b);
+  }
+
+  public void getWindowVisibleDisplayFrame(Rect outRect) {
+    Rect frame = getRootView().mVisibleDisplayFrame;
+    outRect.set(frame.left, frame.top, frame.right, frame.bottom);
+  }
+
+  public void setSystemUiVisibility(int visibility) {
+    mSystemUiVisibility = visibility;
+  }
+
+  public int getWindowSystemUiVisibility() {
+    return getRootView().mSystemUiVisibility;
+  }
+
+  public void getDrawingRect(Rect outRect) {
+    outRect.set(mScrollX, mScrollY, mScrollX + getWidth(), mScrollY + getHeight());
+  }
+
+  public final boolean getGlobalVisibleRect(Rect r) {
+    int x = 0;
+    int y = 0;
+    View current = this;
+    while (current != null) {
+      x += current.mLeft;
+      y += current.mTop;
+      current = current.mParent instanceof View ? (View) current.mParent : null;
+      // The scroll of the ancestors moves their children.
+      if (current != null) {
+        x -= current.mScrollX;
+        y -= current.mScrollY;
+      }
+    }
+    r.set(x, y, x + getWidth(), y + getHeight());
+    return true;
+  }
+}
@@ -0,0 +1,65 @@
+package android.view;
+
+import android.content.Context;
+import android.graphics.Rect;
+
+import java.util.ArrayList;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Stand-in for the Android class.
+ */
+public class ViewGroup extends View implements ViewParent {
+  private final ArrayList<View> mChildren = new ArrayList<>();
+
+  public ViewGroup(Context context) {
+    super(context);
+  }
+
+  public void addView(View child) {
+    child.mParent = this;
+    mChildren.add(child);
+  }
+
+  @Override
+  public void dispatchAttachedToWindow() {
+    super.dispatchAttachedToWindow();
+    for (int i = 0; i < mChildren.size(); i += 1) {
+      mChildren.get(i).dispatchAttachedToWindow();
+    }
+  }
+
+  @Override
+  public void dispatchDetachedFromWindow() {
+    for (int i = 0; i < mChildren.size(); i += 1) {
+      mChildren.get(i).dispatchDetachedFromWindow();
+    }
+    super.dispatchDetachedFromWindow();
+  }
+
+  @Override
+  protected @Nullable View findViewTraversal(int id) {
+    if (id == getId()) {
+      return this;
+    }
+    for (int i = 0; i < mChildren.size(); i += 1) {
+      View view = mChildren.get(i).findViewTraversal(id);
+      if (view != null) {
+        return view;
+      }
+    }
+    return null;
+  }
+
+  public final void offsetDescendantRectToMyCoords(View descendant, Rect rect) {
+    View current = descendant;
+    while (current != this) {
+      rect.offset(current.getLeft() - current.getScrollX(), current.getTop() - current.getScrollY());
+      if (!(current.mParent instanceof View)) {
+        throw new IllegalArgumentException("parameter must be a descendant of this view");
+      }
+      current = (View) current.mParent;
+    }
+  }
+}
@@ -0,0 +1,8 @@
+package android.view;
+
+/**
+ * Stand-in for the Android interface.
+ */
+public interface ViewParent {
+  ViewParent getParent();
+}
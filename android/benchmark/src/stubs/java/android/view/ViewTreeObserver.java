@@ -0,0 +1,54 @@
+package android.view;
+
+import java.util.ArrayList;
+
+/**
+ * Stand-in for the Android class. There is no traversal, listeners are only called by the
+ * dispatch methods.
+ */
+public final class ViewTreeObserver {
+  public interface OnPreDrawListener {
+    boolean onPreDraw();
+  }
+
+  public interface OnGlobalLayoutListener {
+    void onGlobalLayout();
+  }
+
+  private final ArrayList<OnPreDrawListener> mOnPreDrawListeners = new ArrayList<>();
+  private final ArrayList<OnGlobalLayoutListener> mOnGlobalLayoutListeners = new ArrayList<>();
+
+  public boolean isAlive() {
+    return true;
+  }
+
+  public void addOnPreDrawListener(OnPreDrawListener listener) {
+    mOnPreDrawListeners.add(listener);
+  }
+
+  public void removeOnPreDrawListener(OnPreDrawListener victim) {
+    mOnPreDrawListeners.remove(victim);
+  }
+
+  public void addOnGlobalLayoutListener(OnGlobalLayoutListener listener) {
+    mOnGlobalLayoutListeners.add(listener);
+  }
+
+  public void removeOnGlobalLayoutListener(OnGlobalLayoutListener victim) {
+    mOnGlobalLayoutListeners.remove(victim);
+  }
+
+  public final void dispatchOnGlobalLayout() {
+    for (OnGlobalLayoutListener listener : new ArrayList<>(mOnGlobalLayoutListeners)) {
+      listener.onGlobalLayout();
+    }
+  }
+
+  public final boolean dispatchOnPreDraw() {
+    boolean cancelDraw = false;
+    for (OnPreDrawListener listener : new ArrayList<>(mOnPreDrawListeners)) {
+      cancelDraw |= !listener.onPreDraw();
+    }
+    return cancelDraw;
+  }
+}
@@ -0,0 +1,7 @@
+package android.view;
+
+/**
+ * Stand-in for the Android class.
+ */
+public abstract class Window {
+}
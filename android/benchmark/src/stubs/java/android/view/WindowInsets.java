@@ -0,0 +1,63 @@
+package android.view;
+
+import android.graphics.Insets;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Stand-in for the Android class.
+ */
+public final class WindowInsets {
+  public static final class Type {
+    private Type() {
+    }
+
+    public static int ime() {
+      return 1 << 3;
+    }
+  }
+
+  private final int mTop;
+  private final int mRight;
+  private final int mBottom;
+  private final int mLeft;
+  private final int mStableBottom;
+  private final @Nullable DisplayCutout mDisplayCutout;
+
+  public WindowInsets(int top, int right, int bottom, int left, int stableBottom, @Nullable DisplayCutout displayCutout) {
+    mTop = top;
+    mRight = right;
+    mBottom = bottom;
+    mLeft = left;
+    mStableBottom = stableBottom;
+    mDisplayCutout = displayCutout;
+  }
+
+  public int getSystemWindowInsetTop() {
+    return mTop;
+  }
+
+  public int getSystemWindowInsetRight() {
+    return mRight;
+  }
+
+  public int getSystemWindowInsetBottom() {
+    return mBottom;
+  }
+
+  public int getSystemWindowInsetLeft() {
+    return mLeft;
+  }
+
+  public int getStableInsetBottom() {
+    return mStableBottom;
+  }
+
+  public @Nullable DisplayCutout getDisplayCutout() {
+    return mDisplayCutout;
+  }
+
+  public Insets getInsets(int typeMask) {
+    return Insets.NONE;
+  }
+}
@@ -0,0 +1,48 @@
+package android.view;
+
+import java.util.List;
+
+/**
+ * Stand-in for the Android class, animations are never started on the JVM.
+ */
+public final class WindowInsetsAnimation {
+  private final int mTypeMask;
+
+  public WindowInsetsAnimation(int typeMask) {
+    mTypeMask = typeMask;
+  }
+
+  public int getTypeMask() {
+    return mTypeMask;
+  }
+
+  public static final class Bounds {
+  }
+
+  public abstract static class Callback {
+    public static final int DISPATCH_MODE_STOP = 0;
+    public static final int DISPATCH_MODE_CONTINUE_ON_SUBTREE = 1;
+
+    private final int mDispatchMode;
+
+    public Callback(int dispatchMode) {
+      mDispatchMode = dispatchMode;
+    }
+
+    public final int getDispatchMode() {
+      return mDispatchMode;
+    }
+
+    public void onPrepare(WindowInsetsAnimation animation) {
+    }
+
+    public Bounds onStart(WindowInsetsAnimation animation, Bounds bounds) {
+      return bounds;
+    }
+
+    public abstract WindowInsets onProgress(WindowInsets insets, List<WindowInsetsAnimation> runningAnimations);
+
+    public void onEnd(WindowInsetsAnimation animation) {
+    }
+  }
+}
@@ -0,0 +1,12 @@
+package android.view;
+
+/**
+ * Stand-in for the Android interface, a class here to keep the stand-ins simple.
+ */
+public class WindowManager {
+  private final Display mDisplay = new Display();
+
+  public Display getDefaultDisplay() {
+    return mDisplay;
+  }
+}
@@ -0,0 +1,14 @@
+package androidx.annotation;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * Stand-in for the androidx annotation.
+ */
+@Retention(RetentionPolicy.CLASS)
+public @interface RequiresApi {
+  int api() default 1;
+
+  int value() default 1;
+}
@@ -0,0 +1,16 @@
+package com.facebook.infer.annotation;
+
+/**
+ * Stand-in for the Infer annotation helpers.
+ */
+public final class Assertions {
+  private Assertions() {
+  }
+
+  public static <T> T assertNotNull(T object) {
+    if (object == null) {
+      throw new AssertionError();
+    }
+    return object;
+  }
+}
@@ -0,0 +1,14 @@
+package com.facebook.react.bridge;
+
+/**
+ * Stand-in for the React Native class.
+ */
+public class Arguments {
+  public static WritableMap createMap() {
+    return new JavaOnlyMap();
+  }
+
+  public static WritableArray createArray() {
+    return new JavaOnlyArray();
+  }
+}
@@ -0,0 +1,10 @@
+package com.facebook.react.bridge;
+
+/**
+ * Stand-in for the React Native interface.
+ */
+public interface Dynamic {
+  ReadableType getType();
+
+  double asDouble();
+}
@@ -0,0 +1,15 @@
+package com.facebook.react.bridge;
+
+import java.util.ArrayList;
+
+/**
+ * Stand-in for the React Native class, the native arrays used on device are backed by JNI.
+ */
+public class JavaOnlyArray implements WritableArray {
+  private final ArrayList<Object> mBackingList = new ArrayList<>();
+
+  @Override
+  public void pushDouble(double value) {
+    mBackingList.add(value);
+  }
+}
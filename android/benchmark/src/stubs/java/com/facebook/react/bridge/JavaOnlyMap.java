@@ -0,0 +1,30 @@
+package com.facebook.react.bridge;
+
+import java.util.HashMap;
+
+/**
+ * Stand-in for the React Native class, the native maps used on device are backed by JNI.
+ */
+public class JavaOnlyMap implements WritableMap {
+  private final HashMap<String, Object> mBackingMap = new HashMap<>();
+
+  @Override
+  public void putDouble(String key, double value) {
+    mBackingMap.put(key, value);
+  }
+
+  @Override
+  public void putInt(String key, int value) {
+    mBackingMap.put(key, value);
+  }
+
+  @Override
+  public void putMap(String key, WritableMap value) {
+    mBackingMap.put(key, value);
+  }
+
+  @Override
+  public void putArray(String key, WritableArray value) {
+    mBackingMap.put(key, value);
+  }
+}
@@ -0,0 +1,36 @@
+package com.facebook.react.bridge;
+
+import android.content.Context;
+import android.content.ContextWrapper;
+
+import java.util.HashMap;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Stand-in for the React Native class. Native modules are only the ones set with
+ * {@link #setNativeModule} and the queues run tasks right away on the calling thread.
+ */
+public class ReactContext extends ContextWrapper {
+  private final HashMap<Class<?>, Object> mNativeModules = new HashMap<>();
+
+  public ReactContext(Context base) {
+    super(base);
+  }
+
+  public <T> void setNativeModule(Class<T> nativeModuleInterface, T nativeModule) {
+    mNativeModules.put(nativeModuleInterface, nativeModule);
+  }
+
+  public @Nullable <T> T getNativeModule(Class<T> nativeModuleInterface) {
+    return nativeModuleInterface.cast(mNativeModules.get(nativeModuleInterface));
+  }
+
+  public void runOnNativeModulesQueueThread(Runnable runnable) {
+    runnable.run();
+  }
+
+  public void runOnUiQueueThread(Runnable runnable) {
+    runnable.run();
+  }
+}
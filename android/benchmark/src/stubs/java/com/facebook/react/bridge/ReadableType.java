@@ -0,0 +1,13 @@
+package com.facebook.react.bridge;
+
+/**
+ * Stand-in for the React Native enum.
+ */
+public enum ReadableType {
+  Null,
+  Boolean,
+  Number,
+  String,
+  Map,
+  Array,
+}
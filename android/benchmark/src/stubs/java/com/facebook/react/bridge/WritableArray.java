@@ -0,0 +1,8 @@
+package com.facebook.react.bridge;
+
+/**
+ * Stand-in for the React Native interface.
+ */
+public interface WritableArray {
+  void pushDouble(double value);
+}
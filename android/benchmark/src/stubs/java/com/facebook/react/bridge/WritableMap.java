@@ -0,0 +1,14 @@
+package com.facebook.react.bridge;
+
+/**
+ * Stand-in for the React Native interface.
+ */
+public interface WritableMap {
+  void putDouble(String key, double value);
+
+  void putInt(String key, int value);
+
+  void putMap(String key, WritableMap value);
+
+  void putArray(String key, WritableArray value);
+}
@@ -0,0 +1,25 @@
+package com.facebook.react.common;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Stand-in for the React Native class.
+ */
+public class MapBuilder {
+  public static <K, V> Map<K, V> of(K k1, V v1, K k2, V v2) {
+    Map<K, V> map = new HashMap<>();
+    map.put(k1, v1);
+    map.put(k2, v2);
+    return map;
+  }
+
+  public static <K, V> Map<K, V> of(K k1, V v1, K k2, V v2, K k3, V v3, K k4, V v4) {
+    Map<K, V> map = new HashMap<>();
+    map.put(k1, v1);
+    map.put(k2, v2);
+    map.put(k3, v3);
+    map.put(k4, v4);
+    return map;
+  }
+}
@@ -0,0 +1,39 @@
+package com.facebook.react.uimanager;
+
+import com.facebook.react.bridge.Dynamic;
+import com.facebook.react.bridge.ReadableType;
+
+/**
+ * Stand-in for the React Native class. Padding and margin are stored in arrays instead of a
+ * Yoga node, {@link #yogaWriteCount} counts the writes that would reach Yoga.
+ */
+public class LayoutShadowNode {
+  public final float[] padding = new float[Spacing.ALL + 1];
+  public final float[] margin = new float[Spacing.ALL + 1];
+  public int yogaWriteCount = 0;
+
+  public void setPadding(int spacingType, float padding) {
+    this.padding[spacingType] = padding;
+    yogaWriteCount += 1;
+  }
+
+  public void setMargin(int spacingType, float margin) {
+    this.margin[spacingType] = margin;
+    yogaWriteCount += 1;
+  }
+
+  public void setPaddings(int index, Dynamic padding) {
+    setPadding(ViewProps.PADDING_MARGIN_SPACING_TYPES[index], toPixel(padding));
+  }
+
+  public void setMargins(int index, Dynamic margin) {
+    setMargin(ViewProps.PADDING_MARGIN_SPACING_TYPES[index], toPixel(margin));
+  }
+
+  public void setLocalData(Object data) {
+  }
+
+  private static float toPixel(Dynamic value) {
+    return value.getType() == ReadableType.Number ? PixelUtil.toPixelFromDIP(value.asDouble()) : Float.NaN;
+  }
+}
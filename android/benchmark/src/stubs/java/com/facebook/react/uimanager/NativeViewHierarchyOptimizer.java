@@ -0,0 +1,7 @@
+package com.facebook.react.uimanager;
+
+/**
+ * Stand-in for the React Native class.
+ */
+public class NativeViewHierarchyOptimizer {
+}
@@ -0,0 +1,20 @@
+package com.facebook.react.uimanager;
+
+/**
+ * Stand-in for the React Native class using a fixed density.
+ */
+public class PixelUtil {
+  private static final float DENSITY = 2.625f;
+
+  public static float toPixelFromDIP(float value) {
+    return value * DENSITY;
+  }
+
+  public static float toPixelFromDIP(double value) {
+    return toPixelFromDIP((float) value);
+  }
+
+  public static float toDIPFromPixel(float value) {
+    return value / DENSITY;
+  }
+}
@@ -0,0 +1,16 @@
+package com.facebook.react.uimanager;
+
+/**
+ * Stand-in for the React Native class, only the spacing type constants.
+ */
+public class Spacing {
+  public static final int LEFT = 0;
+  public static final int TOP = 1;
+  public static final int RIGHT = 2;
+  public static final int BOTTOM = 3;
+  public static final int START = 4;
+  public static final int END = 5;
+  public static final int HORIZONTAL = 6;
+  public static final int VERTICAL = 7;
+  public static final int ALL = 8;
+}
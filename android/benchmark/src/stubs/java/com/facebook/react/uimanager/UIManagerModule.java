@@ -0,0 +1,21 @@
+package com.facebook.react.uimanager;
+
+import java.util.HashMap;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Stand-in for the React Native class. The local data is kept instead of being sent to the shadow
+ * nodes.
+ */
+public class UIManagerModule {
+  private final HashMap<Integer, Object> mViewLocalData = new HashMap<>();
+
+  public void setViewLocalData(int tag, Object data) {
+    mViewLocalData.put(tag, data);
+  }
+
+  public @Nullable Object getViewLocalData(int tag) {
+    return mViewLocalData.get(tag);
+  }
+}
@@ -0,0 +1,38 @@
+package com.facebook.react.uimanager;
+
+/**
+ * Stand-in for the React Native class, only the padding and margin props.
+ */
+public class ViewProps {
+  public static final String PADDING = "padding";
+  public static final String PADDING_VERTICAL = "paddingVertical";
+  public static final String PADDING_HORIZONTAL = "paddingHorizontal";
+  public static final String PADDING_START = "paddingStart";
+  public static final String PADDING_END = "paddingEnd";
+  public static final String PADDING_TOP = "paddingTop";
+  public static final String PADDING_BOTTOM = "paddingBottom";
+  public static final String PADDING_LEFT = "paddingLeft";
+  public static final String PADDING_RIGHT = "paddingRight";
+
+  public static final String MARGIN = "margin";
+  public static final String MARGIN_VERTICAL = "marginVertical";
+  public static final String MARGIN_HORIZONTAL = "marginHorizontal";
+  public static final String MARGIN_START = "marginStart";
+  public static final String MARGIN_END = "marginEnd";
+  public static final String MARGIN_TOP = "marginTop";
+  public static final String MARGIN_BOTTOM = "marginBottom";
+  public static final String MARGIN_LEFT = "marginLeft";
+  public static final String MARGIN_RIGHT = "marginRight";
+
+  public static final int[] PADDING_MARGIN_SPACING_TYPES = {
+    Spacing.ALL,
+    Spacing.VERTICAL,
+    Spacing.HORIZONTAL,
+    Spacing.START,
+    Spacing.END,
+    Spacing.TOP,
+    Spacing.BOTTOM,
+    Spacing.LEFT,
+    Spacing.RIGHT,
+  };
+}
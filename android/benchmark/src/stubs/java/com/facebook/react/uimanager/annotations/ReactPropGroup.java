@@ -0,0 +1,12 @@
+package com.facebook.react.uimanager.annotations;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * Stand-in for the React Native annotation.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReactPropGroup {
+  String[] names();
+}
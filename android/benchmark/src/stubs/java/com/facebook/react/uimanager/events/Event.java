@@ -0,0 +1,39 @@
+package com.facebook.react.uimanager.events;
+
+/**
+ * Stand-in for the React Native class.
+ */
+public abstract class Event<T extends Event> {
+  private final int mViewTag;
+  private final long mTimestampMs;
+
+  protected Event(int viewTag) {
+    mViewTag = viewTag;
+    mTimestampMs = System.nanoTime() / 1000000L;
+  }
+
+  public final int getViewTag() {
+    return mViewTag;
+  }
+
+  public final long getTimestampMs() {
+    return mTimestampMs;
+  }
+
+  public boolean canCoalesce() {
+    return true;
+  }
+
+  @SuppressWarnings("unchecked")
+  public T coalesce(T otherEvent) {
+    return (T) (getTimestampMs() >= otherEvent.getTimestampMs() ? this : otherEvent);
+  }
+
+  public short getCoalescingKey() {
+    return 0;
+  }
+
+  public abstract String getEventName();
+
+  public abstract void dispatch(RCTEventEmitter rctEventEmitter);
+}
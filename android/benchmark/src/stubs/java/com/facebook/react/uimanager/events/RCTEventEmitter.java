@@ -0,0 +1,10 @@
+package com.facebook.react.uimanager.events;
+
+import com.facebook.react.bridge.WritableMap;
+
+/**
+ * Stand-in for the React Native interface.
+ */
+public interface RCTEventEmitter {
+  void receiveEvent(int targetTag, String eventName, WritableMap event);
+}
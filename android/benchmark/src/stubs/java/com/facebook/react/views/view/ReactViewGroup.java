@@ -0,0 +1,13 @@
+package com.facebook.react.views.view;
+
+import android.content.Context;
+import android.view.ViewGroup;
+
+/**
+ * Stand-in for the React Native class.
+ */
+public class ReactViewGroup extends ViewGroup {
+  public ReactViewGroup(Context context) {
+    super(context);
+  }
+}
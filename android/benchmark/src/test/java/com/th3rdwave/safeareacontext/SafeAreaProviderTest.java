@@ -0,0 +1,86 @@
+package com.th3rdwave.safeareacontext;
+
+import android.content.Context;
+import android.view.Choreographer;
+import android.view.DisplayCutout;
+import android.view.ViewGroup;
+import android.view.WindowInsets;
+
+import com.facebook.react.bridge.ReactContext;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertEquals;
+
+public class SafeAreaProviderTest {
+  private ViewGroup mRootView;
+  private SafeAreaProvider mProvider;
+  private final ArrayList<EdgeInsets> mInsetsChanges = new ArrayList<>();
+
+  @Before
+  public void setup() {
+    ReactContext context = new ReactContext(new Context());
+    mRootView = new ViewGroup(context);
+    mRootView.layout(0, 0, 1080, 2340);
+    setRootTopInset(80);
+
+    mProvider = new SafeAreaProvider(context);
+    mRootView.addView(mProvider);
+    mProvider.layout(0, 0, 1080, 2340);
+    mProvider.setOnInsetsChangeListener(new SafeAreaProvider.OnInsetsChangeListener() {
+      @Override
+      public void onInsetsChange(SafeAreaProvider view, EdgeInsets insets, Rect frame, int changedFields, int version) {
+        mInsetsChanges.add(insets);
+      }
+    });
+  }
+
+  @After
+  public void tearDown() {
+    mRootView.dispatchDetachedFromWindow();
+    Choreographer.getInstance().doFrame(0);
+  }
+
+  @Test
+  public void appliesHeldInsetsWithoutTraversalInPollMode() {
+    mProvider.setChangeThreshold(2);
+    mRootView.dispatchAttachedToWindow();
+    assertEquals(1, mInsetsChanges.size());
+    assertEquals(80, mInsetsChanges.get(0).top, 0);
+
+    // The change is below the threshold so the traversal holds it back.
+    setRootTopInset(81);
+    mRootView.getViewTreeObserver().dispatchOnPreDraw();
+    assertEquals(1, mInsetsChanges.size());
+
+    // No other traversal happens, the next frame still applies the exact values.
+    Choreographer.getInstance().doFrame(0);
+    assertEquals(2, mInsetsChanges.size());
+    assertEquals(81, mInsetsChanges.get(1).top, 0);
+  }
+
+  @Test
+  public void appliesHeldInsetsInEventMode() {
+    mProvider.setChangeThreshold(2);
+    mProvider.setUpdateMode(SafeAreaProviderUpdateMode.EVENT);
+    mRootView.dispatchAttachedToWindow();
+    assertEquals(1, mInsetsChanges.size());
+
+    setRootTopInset(81);
+    mProvider.dispatchApplyWindowInsets(mRootView.getRootWindowInsets());
+    Choreographer.getInstance().doFrame(0);
+    assertEquals(1, mInsetsChanges.size());
+
+    Choreographer.getInstance().doFrame(0);
+    assertEquals(2, mInsetsChanges.size());
+    assertEquals(81, mInsetsChanges.get(1).top, 0);
+  }
+
+  private void setRootTopInset(int top) {
+    mRootView.setRootWindowInsets(new WindowInsets(top, 0, 63, 0, 63, new DisplayCutout(top)));
+  }
+}
@@ -0,0 +1,118 @@
+package com.th3rdwave.safeareacontext;
+
+import android.content.Context;
+import android.view.Choreographer;
+import android.view.DisplayCutout;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.WindowInsets;
+
+import com.facebook.react.bridge.ReactContext;
+import com.facebook.react.uimanager.UIManagerModule;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+public class SafeAreaViewTest {
+  private static final int OUTER_VIEW_ID = 1;
+  private static final int NESTED_VIEW_ID = 2;
+
+  private ReactContext mContext;
+  private final UIManagerModule mUIManager = new UIManagerModule();
+  private ViewGroup mRootView;
+
+  @Before
+  public void setup() {
+    mContext = new ReactContext(new Context());
+    mContext.setNativeModule(UIManagerModule.class, mUIManager);
+    mRootView = new ViewGroup(mContext);
+    mRootView.layout(0, 0, 1080, 2340);
+    mRootView.setRootWindowInsets(new WindowInsets(80, 0, 63, 0, 63, new DisplayCutout(80)));
+  }
+
+  @After
+  public void tearDown() {
+    mRootView.dispatchDetachedFromWindow();
+    Choreographer.getInstance().doFrame(0);
+  }
+
+  @Test
+  public void nestedViewComputesItsOwnInsetsWithoutProvider() {
+    SafeAreaView outerView = createSafeAreaViews(mRootView);
+    mRootView.dispatchAttachedToWindow();
+
+    assertEquals(80, getLocalData(OUTER_VIEW_ID).getTop(), 0);
+    // The nested view is below the header, so the top inset doesn't overlap it.
+    assertEquals(0, getLocalData(NESTED_VIEW_ID).getTop(), 0);
+    assertEquals(63, getLocalData(NESTED_VIEW_ID).getBottom(), 0);
+
+    // Consuming only applies to the insets forwarded from a provider.
+    outerView.setConsumeInsets(true);
+    assertEquals(63, getLocalData(NESTED_VIEW_ID).getBottom(), 0);
+  }
+
+  @Test
+  public void nestedViewGetsProviderInsetsFromOuterView() {
+    SafeAreaProvider provider = createProvider();
+    createSafeAreaViews(provider);
+    mRootView.dispatchAttachedToWindow();
+
+    assertEquals(80, getLocalData(OUTER_VIEW_ID).getTop(), 0);
+    assertEquals(80, getLocalData(NESTED_VIEW_ID).getTop(), 0);
+  }
+
+  @Test
+  public void nestedViewGetsRemainingInsetsWhenOuterViewConsumes() {
+    SafeAreaProvider provider = createProvider();
+    SafeAreaView outerView = createSafeAreaViews(provider);
+    outerView.setEdges(SafeAreaViewEdges.FLAG_TOP);
+    outerView.setConsumeInsets(true);
+    mRootView.dispatchAttachedToWindow();
+
+    assertEquals(80, getLocalData(OUTER_VIEW_ID).getTop(), 0);
+    assertEquals(0, getLocalData(NESTED_VIEW_ID).getTop(), 0);
+    assertEquals(63, getLocalData(NESTED_VIEW_ID).getBottom(), 0);
+  }
+
+  private SafeAreaProvider createProvider() {
+    SafeAreaProvider provider = new SafeAreaProvider(mContext);
+    mRootView.addView(provider);
+    provider.layout(0, 0, 1080, 2340);
+    provider.setOnInsetsChangeListener(new SafeAreaProvider.OnInsetsChangeListener() {
+      @Override
+      public void onInsetsChange(SafeAreaProvider view, EdgeInsets insets, Rect frame, int changedFields, int version) {
+      }
+    });
+    return provider;
+  }
+
+  /**
+   * Adds a full screen SafeAreaView with a header and a nested SafeAreaView below the header.
+   */
+  private SafeAreaView createSafeAreaViews(ViewGroup parent) {
+    SafeAreaView outerView = new SafeAreaView(mContext);
+    outerView.setId(OUTER_VIEW_ID);
+    parent.addView(outerView);
+    outerView.layout(0, 0, 1080, 2340);
+
+    View header = new View(mContext);
+    outerView.addView(header);
+    header.layout(0, 0, 1080, 200);
+
+    SafeAreaView nestedView = new SafeAreaView(mContext);
+    nestedView.setId(NESTED_VIEW_ID);
+    outerView.addView(nestedView);
+    nestedView.layout(0, 200, 1080, 2340);
+    return outerView;
+  }
+
+  private SafeAreaViewLocalData getLocalData(int tag) {
+    SafeAreaViewLocalData localData = (SafeAreaViewLocalData) mUIManager.getViewLocalData(tag);
+    assertNotNull(localData);
+    return localData;
+  }
+}
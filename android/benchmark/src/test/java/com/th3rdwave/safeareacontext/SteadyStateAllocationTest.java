@@ -0,0 +1,116 @@
+package com.th3rdwave.safeareacontext;
+
+import android.content.Context;
+import android.view.DisplayCutout;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.WindowInsets;
+
+import com.facebook.react.bridge.ReactContext;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that the code running on every frame doesn't allocate once the view hierarchy stopped
+ * changing. The bytes allocated by the test thread are read with ThreadMXBean after a warm-up.
+ */
+public class SteadyStateAllocationTest {
+  private static final int WARM_UP_ITERATIONS = 20000;
+  private static final int ITERATIONS = 10000;
+
+  private final com.sun.management.ThreadMXBean mThreadMXBean =
+      (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+  private ViewGroup mRootView;
+  private SafeAreaProvider mProvider;
+  private View mNestedView;
+  private final EdgeInsets mInsets = new EdgeInsets();
+  private final Rect mFrame = new Rect();
+  private final android.graphics.Rect mTmpRect = new android.graphics.Rect();
+
+  @Before
+  public void setup() {
+    ReactContext context = new ReactContext(new Context());
+    mRootView = new ViewGroup(context);
+    mRootView.layout(0, 0, 1080, 2340);
+    mRootView.setRootWindowInsets(new WindowInsets(80, 0, 63, 0, 63, new DisplayCutout(80)));
+
+    mProvider = new SafeAreaProvider(context);
+    mRootView.addView(mProvider);
+    mProvider.layout(0, 0, 1080, 2340);
+    mProvider.setOnInsetsChangeListener(new SafeAreaProvider.OnInsetsChangeListener() {
+      @Override
+      public void onInsetsChange(SafeAreaProvider view, EdgeInsets insets, Rect frame, int changedFields, int version) {
+      }
+    });
+
+    SafeAreaView safeAreaView = new SafeAreaView(context);
+    mProvider.addView(safeAreaView);
+    safeAreaView.layout(0, 0, 1080, 2340);
+    mProvider.addSafeAreaView(safeAreaView);
+
+    mNestedView = new View(context);
+    safeAreaView.addView(mNestedView);
+    mNestedView.layout(0, 200, 1080, 2340);
+
+    assertTrue(mThreadMXBean.isThreadAllocatedMemorySupported());
+    mThreadMXBean.setThreadAllocatedMemoryEnabled(true);
+  }
+
+  @Test
+  public void getSafeAreaInsets() {
+    assertNoAllocations("getSafeAreaInsets", new Runnable() {
+      @Override
+      public void run() {
+        SafeAreaUtils.getSafeAreaInsets(mNestedView, mInsets, mTmpRect);
+      }
+    });
+  }
+
+  @Test
+  public void getFrame() {
+    assertNoAllocations("getFrame", new Runnable() {
+      @Override
+      public void run() {
+        SafeAreaUtils.getFrame(mRootView, mNestedView, mFrame, mTmpRect);
+      }
+    });
+  }
+
+  @Test
+  public void computeInsets() {
+    assertNoAllocations("computeInsets", new Runnable() {
+      @Override
+      public void run() {
+        // Like a flush of the scheduler.
+        SafeAreaUtils.beginInsetsPass();
+        mProvider.computeInsets();
+        mProvider.dispatchPendingInsetsChange();
+        SafeAreaUtils.endInsetsPass();
+      }
+    });
+  }
+
+  private void assertNoAllocations(String name, Runnable operation) {
+    for (int i = 0; i < WARM_UP_ITERATIONS; i += 1) {
+      operation.run();
+    }
+    long threadId = Thread.currentThread().getId();
+    // Reading the counter could allocate itself, that part is not counted.
+    long start = mThreadMXBean.getThreadAllocatedBytes(threadId);
+    long overhead = mThreadMXBean.getThreadAllocatedBytes(threadId) - start;
+
+    long before = mThreadMXBean.getThreadAllocatedBytes(threadId);
+    for (int i = 0; i < ITERATIONS; i += 1) {
+      operation.run();
+    }
+    long allocated = mThreadMXBean.getThreadAllocatedBytes(threadId) - before - overhead;
+    assertEquals(name + " allocated " + allocated + " bytes over " + ITERATIONS + " calls.", 0, allocated);
+  }
+}
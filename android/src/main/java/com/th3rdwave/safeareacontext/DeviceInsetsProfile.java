@@ -0,0 +1,180 @@
+package com.th3rdwave.safeareacontext;
+
+import android.content.Context;
+import android.content.res.Configuration;
+import android.hardware.display.DisplayManager;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.DisplayMetrics;
+import android.view.Display;
+import android.view.View;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Device values used to compute insets that are expensive to look up (reflection, resource
+ * lookups by name) and only change with the display configuration. Profiles are cached per
+ * display and reused until the size, rotation or density of the display changes, or the
+ * orientation, density or screen size of the configuration changes.
+ */
+/* package */ class DeviceInsetsProfile {
+  private static final ConcurrentHashMap<Integer, DeviceInsetsProfile> sProfiles = new ConcurrentHashMap<>();
+  private static volatile boolean sIsListeningToDisplays = false;
+  private static volatile @Nullable DisplayManager sDisplayManager;
+  // Scratch metrics of the display listener, only used on the main thread.
+  private static final DisplayMetrics sTmpRealMetrics = new DisplayMetrics();
+  private static final DisplayMetrics sTmpMetrics = new DisplayMetrics();
+
+  private static final DisplayManager.DisplayListener sDisplayListener = new DisplayManager.DisplayListener() {
+    @Override
+    public void onDisplayAdded(int displayId) {
+    }
+
+    @Override
+    public void onDisplayRemoved(int displayId) {
+      sProfiles.remove(displayId);
+    }
+
+    @Override
+    public void onDisplayChanged(int displayId) {
+      // Also called for refresh rate and mode switches, which are frequent on high refresh rate
+      // displays, so the profile is only evicted when a value it was built from changed.
+      DeviceInsetsProfile profile = sProfiles.get(displayId);
+      DisplayManager displayManager = sDisplayManager;
+      if (profile == null || displayManager == null) {
+        return;
+      }
+      Display display = displayManager.getDisplay(displayId);
+      if (display == null || !profile.matches(display)) {
+        sProfiles.remove(displayId);
+      }
+    }
+  };
+
+  /**
+   * Notch height reported by vendor specific apis, only used before Android P.
+   */
+  final int legacyNotchHeight;
+  final int statusBarHeight;
+  final int navigationBarHeight;
+  final int realDisplayWidth;
+  final int realDisplayHeight;
+  final int displayWidth;
+  final int displayHeight;
+  /**
+   * The display has an aspect ratio of 18:9 or more.
+   */
+  final boolean isAllScreenDevice;
+
+  private final int mRotation;
+  private final int mRealDensityDpi;
+  private final int mOrientation;
+  private final int mDensityDpi;
+  private final int mScreenWidthDp;
+  private final int mScreenHeightDp;
+
+  private DeviceInsetsProfile(Context context, Display display, Configuration config) {
+    if (Build.VERSION.SDK_INT < Build.VERSION_CODES.P) {
+      legacyNotchHeight = SafeAreaUtils.getLegacyNotchHeight(context);
+    } else {
+      // The vendor probes use reflection and log errors, on P+ the display cutout is used instead.
+      legacyNotchHeight = 0;
+    }
+    statusBarHeight = SafeAreaUtils.getCommonNotchHeight(context);
+    navigationBarHeight = SafeAreaUtils.getNavigationHeight(context);
+
+    DisplayMetrics realDisplayMetrics = new DisplayMetrics();
+    display.getRealMetrics(realDisplayMetrics);
+    realDisplayWidth = realDisplayMetrics.widthPixels;
+    realDisplayHeight = realDisplayMetrics.heightPixels;
+    DisplayMetrics displayMetrics = new DisplayMetrics();
+    display.getMetrics(displayMetrics);
+    displayWidth = displayMetrics.widthPixels;
+    displayHeight = displayMetrics.heightPixels;
+    mRotation = display.getRotation();
+    mRealDensityDpi = realDisplayMetrics.densityDpi;
+
+    float shortSide = Math.min(realDisplayWidth, realDisplayHeight);
+    float longSide = Math.max(realDisplayWidth, realDisplayHeight);
+    isAllScreenDevice = shortSide > 0 && longSide / shortSide >= 1.97f;
+
+    mOrientation = config.orientation;
+    mDensityDpi = config.densityDpi;
+    mScreenWidthDp = config.screenWidthDp;
+    mScreenHeightDp = config.screenHeightDp;
+  }
+
+  private boolean matches(Display display) {
+    display.getRealMetrics(sTmpRealMetrics);
+    display.getMetrics(sTmpMetrics);
+    return realDisplayWidth == sTmpRealMetrics.widthPixels &&
+        realDisplayHeight == sTmpRealMetrics.heightPixels &&
+        mRealDensityDpi == sTmpRealMetrics.densityDpi &&
+        displayWidth == sTmpMetrics.widthPixels &&
+        displayHeight == sTmpMetrics.heightPixels &&
+        mRotation == display.getRotation();
+  }
+
+  private boolean matches(Configuration config) {
+    return mOrientation == config.orientation &&
+        mDensityDpi == config.densityDpi &&
+        mScreenWidthDp == config.screenWidthDp &&
+        mScreenHeightDp == config.screenHeightDp;
+  }
+
+  /**
+   * Profile of the display the view is on, or of the default display if the view is not attached.
+   */
+  static DeviceInsetsProfile get(View view) {
+    Display display = view.getDisplay();
+    if (display == null) {
+      return get(view.getContext());
+    }
+    return get(view.getContext(), display);
+  }
+
+  /**
+   * Profile of the default display, can be called with the application context from any thread.
+   * The display comes from the display manager and the configuration from a context of that
+   * display, the window manager of a non visual context is not used.
+   */
+  static DeviceInsetsProfile get(Context context) {
+    DisplayManager displayManager =
+        (DisplayManager) context.getApplicationContext().getSystemService(Context.DISPLAY_SERVICE);
+    Display display = displayManager.getDisplay(Display.DEFAULT_DISPLAY);
+    return get(context.createDisplayContext(display), display);
+  }
+
+  private static DeviceInsetsProfile get(Context context, Display display) {
+    Configuration config = context.getResources().getConfiguration();
+    // Display ids are small so boxing them doesn't allocate.
+    DeviceInsetsProfile profile = sProfiles.get(display.getDisplayId());
+    if (profile == null || !profile.matches(config)) {
+      startListeningToDisplays(context);
+      profile = new DeviceInsetsProfile(context, display, config);
+      sProfiles.put(display.getDisplayId(), profile);
+    }
+    return profile;
+  }
+
+  private static void startListeningToDisplays(Context context) {
+    if (sIsListeningToDisplays) {
+      return;
+    }
+    synchronized (sProfiles) {
+      if (sIsListeningToDisplays) {
+        return;
+      }
+      DisplayManager displayManager =
+          (DisplayManager) context.getApplicationContext().getSystemService(Context.DISPLAY_SERVICE);
+      if (displayManager != null) {
+        sDisplayManager = displayManager;
+        displayManager.registerDisplayListener(sDisplayListener, new Handler(Looper.getMainLooper()));
+      }
+      sIsListeningToDisplays = true;
+    }
+  }
+}
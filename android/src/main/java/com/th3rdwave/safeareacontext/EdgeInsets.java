@@ -6,6 +6,9 @@ package com.th3rdwave.safeareacontext;
   float bottom;
   float left;
 
+  EdgeInsets() {
+  }
+
   EdgeInsets(float top, float right, float bottom, float left) {
     this.top = top;
     this.right = right;
@@ -13,6 +16,31 @@ package com.th3rdwave.safeareacontext;
     this.left = left;
   }
 
+  EdgeInsets(EdgeInsets other) {
+    set(other);
+  }
+
+  void set(float top, float right, float bottom, float left) {
+    this.top = top;
+    this.right = right;
+    this.bottom = bottom;
+    this.left = left;
+  }
+
+  void set(EdgeInsets other) {
+    set(other.top, other.right, other.bottom, other.left);
+  }
+
+  /**
+   * @return true if no edge differs by threshold or more.
+   */
+  boolean equalsToEdgeInsets(EdgeInsets other, float threshold) {
+    return Math.abs(this.top - other.top) < threshold &&
+        Math.abs(this.right - other.right) < threshold &&
+        Math.abs(this.bottom - other.bottom) < threshold &&
+        Math.abs(this.left - other.left) < threshold;
+  }
+
   boolean equalsToEdgeInsets(EdgeInsets other) {
     if (this == other) {
       return true;
@@ -0,0 +1,117 @@
+package com.th3rdwave.safeareacontext;
+
+import android.os.Build;
+import android.view.View;
+import android.view.WindowInsets;
+import android.view.WindowInsetsAnimation;
+
+import java.util.List;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.RequiresApi;
+
+/**
+ * Follows the IME insets animation. The platform calls onProgress once per animation frame from
+ * the Choreographer frame callback so the samples are aligned with vsync.
+ */
+@RequiresApi(Build.VERSION_CODES.R)
+/* package */ class ImeInsetsAnimationCallback extends WindowInsetsAnimation.Callback {
+  interface Listener {
+    void onImeInsetsChange(int bottom, boolean isAnimating);
+  }
+
+  private final View mView;
+  private final Listener mListener;
+  private int mSampleInterval = 1;
+  private int mFrameCount = 0;
+  private int mLastBottom = -1;
+  private boolean mLastIsAnimating = false;
+  private boolean mIsImeAnimationRunning = false;
+
+  ImeInsetsAnimationCallback(View view, Listener listener) {
+    // Children might have their own callbacks, make sure they still get called.
+    super(DISPATCH_MODE_CONTINUE_ON_SUBTREE);
+
+    mView = view;
+    mListener = listener;
+  }
+
+  /**
+   * @param sampleInterval number of animation frames between two samples, the end of the
+   *                       animation is always sent.
+   */
+  void setSampleInterval(int sampleInterval) {
+    mSampleInterval = Math.max(sampleInterval, 1);
+  }
+
+  /**
+   * Sends the current IME insets if they changed. Used to sync the initial value, the end of an
+   * animation and, from the window insets dispatch, the changes that don't animate.
+   */
+  void dispatchCurrentInsets() {
+    WindowInsets insets = mView.getRootWindowInsets();
+    if (insets != null) {
+      dispatch(insets.getInsets(WindowInsets.Type.ime()).bottom, false);
+    }
+  }
+
+  /**
+   * True from the preparation of an IME animation until its end. The window insets dispatched
+   * meanwhile already have the end value, the animation reports it when it ends.
+   */
+  boolean isImeAnimationRunning() {
+    return mIsImeAnimationRunning;
+  }
+
+  private void dispatch(int bottom, boolean isAnimating) {
+    if (bottom == mLastBottom && isAnimating == mLastIsAnimating) {
+      return;
+    }
+    mLastBottom = bottom;
+    mLastIsAnimating = isAnimating;
+    mListener.onImeInsetsChange(bottom, isAnimating);
+  }
+
+  private static boolean isImeAnimation(WindowInsetsAnimation animation) {
+    return (animation.getTypeMask() & WindowInsets.Type.ime()) != 0;
+  }
+
+  @Override
+  public void onPrepare(@NonNull WindowInsetsAnimation animation) {
+    if (isImeAnimation(animation)) {
+      mIsImeAnimationRunning = true;
+    }
+  }
+
+  @NonNull
+  @Override
+  public WindowInsetsAnimation.Bounds onStart(@NonNull WindowInsetsAnimation animation, @NonNull WindowInsetsAnimation.Bounds bounds) {
+    if (isImeAnimation(animation)) {
+      mFrameCount = 0;
+    }
+    return bounds;
+  }
+
+  @NonNull
+  @Override
+  public WindowInsets onProgress(@NonNull WindowInsets insets, @NonNull List<WindowInsetsAnimation> runningAnimations) {
+    for (int i = 0; i < runningAnimations.size(); i += 1) {
+      if (isImeAnimation(runningAnimations.get(i))) {
+        if (mFrameCount % mSampleInterval == 0) {
+          dispatch(insets.getInsets(WindowInsets.Type.ime()).bottom, true);
+        }
+        mFrameCount += 1;
+        break;
+      }
+    }
+    return insets;
+  }
+
+  @Override
+  public void onEnd(@NonNull WindowInsetsAnimation animation) {
+    if (isImeAnimation(animation)) {
+      mIsImeAnimationRunning = false;
+      dispatchCurrentInsets();
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package com.th3rdwave.safeareacontext;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.uimanager.PixelUtil;
+import com.facebook.react.uimanager.events.Event;
+import com.facebook.react.uimanager.events.RCTEventEmitter;
+
+/* package */ class ImeInsetsChangeEvent extends Event<ImeInsetsChangeEvent> {
+  static final String EVENT_NAME = "topImeInsetsChange";
+
+  private int mBottom;
+  private boolean mIsAnimating;
+
+  ImeInsetsChangeEvent(int viewTag, int bottom, boolean isAnimating) {
+    super(viewTag);
+
+    mBottom = bottom;
+    mIsAnimating = isAnimating;
+  }
+
+  @Override
+  public String getEventName() {
+    return EVENT_NAME;
+  }
+
+  /**
+   * Only the latest IME position matters, if JS falls behind during the animation pending
+   * samples are dropped.
+   */
+  @Override
+  public boolean canCoalesce() {
+    return true;
+  }
+
+  @Override
+  public short getCoalescingKey() {
+    return 0;
+  }
+
+  @Override
+  public void dispatch(RCTEventEmitter rctEventEmitter) {
+    WritableMap event = Arguments.createMap();
+    event.putDouble("bottom", PixelUtil.toDIPFromPixel(mBottom));
+    event.putBoolean("animating", mIsAnimating);
+    rctEventEmitter.receiveEvent(getViewTag(), getEventName(), event);
+  }
+}
@@ -5,17 +5,67 @@ import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.uimanager.events.Event;
 import com.facebook.react.uimanager.events.RCTEventEmitter;
 
+import androidx.annotation.Nullable;
+
 /* package */  class InsetsChangeEvent extends Event<InsetsChangeEvent> {
   static final String EVENT_NAME = "topInsetsChange";
 
+  static final int FIELD_TOP = 1;
+  static final int FIELD_RIGHT = 1 << 1;
+  static final int FIELD_BOTTOM = 1 << 2;
+  static final int FIELD_LEFT = 1 << 3;
+  static final int FIELD_X = 1 << 4;
+  static final int FIELD_Y = 1 << 5;
+  static final int FIELD_WIDTH = 1 << 6;
+  static final int FIELD_HEIGHT = 1 << 7;
+  static final int INSETS_FIELDS = FIELD_TOP | FIELD_RIGHT | FIELD_BOTTOM | FIELD_LEFT;
+  static final int FRAME_FIELDS = FIELD_X | FIELD_Y | FIELD_WIDTH | FIELD_HEIGHT;
+  static final int ALL_FIELDS = INSETS_FIELDS | FRAME_FIELDS;
+
   private EdgeInsets mInsets;
   private Rect mFrame;
+  private InsetsEventFormat mFormat;
+  private int mChangedFields;
+  private int mVersion;
 
   InsetsChangeEvent(int viewTag, EdgeInsets insets, Rect frame) {
+    this(viewTag, insets, frame, InsetsEventFormat.FULL, ALL_FIELDS, 0);
+  }
+
+  /**
+   * @param changedFields fields that changed since the previous event, with the delta format only
+   *                      these are sent to JS.
+   * @param version increases with every event of a provider so JS can ignore stale deltas.
+   */
+  InsetsChangeEvent(int viewTag, EdgeInsets insets, Rect frame, InsetsEventFormat format, int changedFields, int version) {
     super(viewTag);
 
     mInsets = insets;
     mFrame = frame;
+    mFormat = format;
+    mChangedFields = changedFields;
+    mVersion = version;
+  }
+
+  static int getChangedFields(@Nullable EdgeInsets prevInsets, @Nullable Rect prevFrame, EdgeInsets insets, Rect frame) {
+    int fields = 0;
+    if (prevInsets == null) {
+      fields |= INSETS_FIELDS;
+    } else {
+      if (prevInsets.top != insets.top) fields |= FIELD_TOP;
+      if (prevInsets.right != insets.right) fields |= FIELD_RIGHT;
+      if (prevInsets.bottom != insets.bottom) fields |= FIELD_BOTTOM;
+      if (prevInsets.left != insets.left) fields |= FIELD_LEFT;
+    }
+    if (prevFrame == null) {
+      fields |= FRAME_FIELDS;
+    } else {
+      if (prevFrame.x != frame.x) fields |= FIELD_X;
+      if (prevFrame.y != frame.y) fields |= FIELD_Y;
+      if (prevFrame.width != frame.width) fields |= FIELD_WIDTH;
+      if (prevFrame.height != frame.height) fields |= FIELD_HEIGHT;
+    }
+    return fields;
   }
 
   @Override
@@ -23,11 +73,54 @@ import com.facebook.react.uimanager.events.RCTEventEmitter;
     return EVENT_NAME;
   }
 
+  /**
+   * Only the latest insets and frame matter so when JS falls behind, for example while the
+   * provider frame animates, pending events for the same view are merged into the newest one.
+   */
+  @Override
+  public boolean canCoalesce() {
+    return true;
+  }
+
+  @Override
+  public short getCoalescingKey() {
+    return 0;
+  }
+
+  @Override
+  public InsetsChangeEvent coalesce(InsetsChangeEvent otherEvent) {
+    SafeAreaStats.increment(SafeAreaStats.Counter.INSETS_CHANGE_EVENT_COALESCED);
+    InsetsChangeEvent newest = super.coalesce(otherEvent);
+    // The dropped event might have been the only one containing some of the changes.
+    newest.mChangedFields |= (newest == this ? otherEvent : this).mChangedFields;
+    return newest;
+  }
+
+  /**
+   * @return the number of events that were dropped because a newer event replaced them.
+   */
+  public static long getCoalescedEventCount() {
+    return SafeAreaStats.getCount(SafeAreaStats.Counter.INSETS_CHANGE_EVENT_COALESCED);
+  }
+
   @Override
   public void dispatch(RCTEventEmitter rctEventEmitter) {
+    SafeAreaStats.increment(SafeAreaStats.Counter.INSETS_CHANGE_EVENT);
     WritableMap event = Arguments.createMap();
-    event.putMap("insets", SerializationUtils.edgeInsetsToJsMap(mInsets));
-    event.putMap("frame", SerializationUtils.rectToJsMap(mFrame));
+    if (mFormat == InsetsEventFormat.DELTA) {
+      event.putInt("version", mVersion);
+      if ((mChangedFields & INSETS_FIELDS) != 0) {
+        event.putMap("insets", SerializationUtils.edgeInsetsToJsMap(mInsets, mChangedFields));
+      }
+      if ((mChangedFields & FRAME_FIELDS) != 0) {
+        event.putMap("frame", SerializationUtils.rectToJsMap(mFrame, mChangedFields));
+      }
+    } else if (mFormat == InsetsEventFormat.COMPACT) {
+      event.putArray("m", SerializationUtils.metricsToJsArray(mInsets, mFrame));
+    } else {
+      event.putMap("insets", SerializationUtils.edgeInsetsToJsMap(mInsets));
+      event.putMap("frame", SerializationUtils.rectToJsMap(mFrame));
+    }
     rctEventEmitter.receiveEvent(getViewTag(), getEventName(), event);
   }
 }
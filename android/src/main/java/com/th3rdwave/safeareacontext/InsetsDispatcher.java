@@ -0,0 +1,56 @@
+package com.th3rdwave.safeareacontext;
+
+import java.util.ArrayList;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Forwards the insets computed by a provider, or the remaining insets of a SafeAreaView, to the
+ * SafeAreaViews it contains so that they don't have to compute the same insets themselves.
+ */
+/* package */ class InsetsDispatcher {
+  private final ArrayList<SafeAreaView> mViews = new ArrayList<>();
+  private @Nullable EdgeInsets mInsets;
+
+  void add(SafeAreaView view) {
+    view.setDispatcherIndex(mViews.size());
+    mViews.add(view);
+    if (mInsets != null) {
+      view.onInsetsChange(mInsets);
+    }
+  }
+
+  void remove(SafeAreaView view) {
+    int index = view.getDispatcherIndex();
+    if (index < 0 || index >= mViews.size() || mViews.get(index) != view) {
+      return;
+    }
+    // Swap with the last view so removal does not shift the list.
+    SafeAreaView last = mViews.remove(mViews.size() - 1);
+    if (last != view) {
+      mViews.set(index, last);
+      last.setDispatcherIndex(index);
+    }
+    view.setDispatcherIndex(-1);
+  }
+
+  /**
+   * @param insets can be a scratch object, views copy the values they keep.
+   * @return true if at least one view updated its insets.
+   */
+  boolean dispatch(EdgeInsets insets) {
+    if (mInsets != null && mInsets.equalsToEdgeInsets(insets)) {
+      return false;
+    }
+    if (mInsets == null) {
+      mInsets = new EdgeInsets(insets);
+    } else {
+      mInsets.set(insets);
+    }
+    boolean didUpdate = false;
+    for (int i = 0; i < mViews.size(); i += 1) {
+      didUpdate |= mViews.get(i).onInsetsChange(insets);
+    }
+    return didUpdate;
+  }
+}
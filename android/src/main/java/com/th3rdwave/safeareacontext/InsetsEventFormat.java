@@ -0,0 +1,10 @@
+package com.th3rdwave.safeareacontext;
+
+public enum InsetsEventFormat {
+  FULL,
+  DELTA,
+  /**
+   * All the values in a single array, see SerializationUtils.metricsToJsArray.
+   */
+  COMPACT
+}
@@ -0,0 +1,192 @@
+package com.th3rdwave.safeareacontext;
+
+import android.graphics.Rect;
+import android.os.Build;
+import android.view.DisplayCutout;
+import android.view.View;
+import android.view.WindowInsets;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Records the raw inputs SafeAreaUtils reads from the views and the device along with the
+ * resulting insets and frames, so they can be replayed on the JVM with the benchmark module.
+ *
+ * The trace is kept in memory while recording and written when recording stops. Format, all
+ * values big endian:
+ *
+ * <pre>
+ * header: int MAGIC, int VERSION, int SDK_INT, UTF BRAND, UTF MANUFACTURER, int recordCount
+ * insets record: byte RECORD_INSETS,
+ *   int rootWidth, rootHeight,
+ *   byte hasWindowInsets, int systemTop, systemRight, systemBottom, systemLeft, stableBottom,
+ *   byte hasCutout, int cutoutSafeInsetTop,
+ *   int visibleFrameLeft, visibleFrameTop, visibleFrameRight, visibleFrameBottom,
+ *   int viewWidth, viewHeight, globalLeft, globalTop, globalRight, globalBottom,
+ *   int legacyNotchHeight, navigationBarHeight, realDisplayWidth, realDisplayHeight,
+ *   displayWidth, displayHeight, navigationBarSetting,
+ *   byte hasInsets, float top, right, bottom, left
+ * frame record: byte RECORD_FRAME,
+ *   int viewWidth, viewHeight, drawingLeft, drawingTop, drawingRight, drawingBottom,
+ *   int depth, depth times int left, top, scrollX, scrollY,
+ *   float x, y, width, height
+ * </pre>
+ *
+ * The depth entries of a frame record are the view and its ancestors up to, but not including,
+ * the root view, starting with the view. They are what offsetDescendantRectToMyCoords reads.
+ */
+public final class InsetsTraceRecorder {
+  static final int MAGIC = 0x53414954; // SAIT
+  static final int VERSION = 2;
+  static final byte RECORD_INSETS = 1;
+  static final byte RECORD_FRAME = 2;
+
+  private static final int MAX_RECORD_COUNT = 10000;
+
+  private static volatile boolean sIsRecording = false;
+  private static @Nullable ByteArrayOutputStream sBuffer;
+  private static @Nullable DataOutputStream sOutput;
+  private static int sRecordCount = 0;
+  private static final Rect sTmpRect = new Rect();
+
+  private InsetsTraceRecorder() {
+  }
+
+  /**
+   * Starts recording, an ongoing recording is discarded. At most 10000 records are kept.
+   */
+  public static synchronized void start() {
+    sBuffer = new ByteArrayOutputStream();
+    sOutput = new DataOutputStream(sBuffer);
+    sRecordCount = 0;
+    sIsRecording = true;
+  }
+
+  /**
+   * Stops recording and writes the trace to the file.
+   */
+  public static synchronized void stop(File file) throws IOException {
+    sIsRecording = false;
+    ByteArrayOutputStream buffer = sBuffer;
+    sBuffer = null;
+    sOutput = null;
+    if (buffer == null) {
+      throw new IllegalStateException("Recording was not started.");
+    }
+    DataOutputStream output = new DataOutputStream(new FileOutputStream(file));
+    try {
+      output.writeInt(MAGIC);
+      output.writeInt(VERSION);
+      output.writeInt(Build.VERSION.SDK_INT);
+      output.writeUTF(Build.BRAND != null ? Build.BRAND : "");
+      output.writeUTF(Build.MANUFACTURER != null ? Build.MANUFACTURER : "");
+      output.writeInt(sRecordCount);
+      buffer.writeTo(output);
+    } finally {
+      output.close();
+    }
+  }
+
+  static boolean isRecording() {
+    return sIsRecording;
+  }
+
+  static synchronized void recordSafeAreaInsets(View view, View rootView, boolean hasInsets, EdgeInsets insets) {
+    DataOutputStream output = sOutput;
+    if (output == null || sRecordCount >= MAX_RECORD_COUNT) {
+      return;
+    }
+    try {
+      output.writeByte(RECORD_INSETS);
+      output.writeInt(rootView.getWidth());
+      output.writeInt(rootView.getHeight());
+
+      WindowInsets windowInsets = Build.VERSION.SDK_INT >= Build.VERSION_CODES.M ? rootView.getRootWindowInsets() : null;
+      output.writeBoolean(windowInsets != null);
+      output.writeInt(windowInsets != null ? windowInsets.getSystemWindowInsetTop() : 0);
+      output.writeInt(windowInsets != null ? windowInsets.getSystemWindowInsetRight() : 0);
+      output.writeInt(windowInsets != null ? windowInsets.getSystemWindowInsetBottom() : 0);
+      output.writeInt(windowInsets != null ? windowInsets.getSystemWindowInsetLeft() : 0);
+      output.writeInt(windowInsets != null ? windowInsets.getStableInsetBottom() : 0);
+      DisplayCutout cutout = windowInsets != null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.P ? windowInsets.getDisplayCutout() : null;
+      output.writeBoolean(cutout != null);
+      output.writeInt(cutout != null ? cutout.getSafeInsetTop() : 0);
+
+      Rect rect = sTmpRect;
+      rootView.getWindowVisibleDisplayFrame(rect);
+      writeRect(output, rect);
+
+      output.writeInt(view.getWidth());
+      output.writeInt(view.getHeight());
+      view.getGlobalVisibleRect(rect);
+      writeRect(output, rect);
+
+      DeviceInsetsProfile profile = DeviceInsetsProfile.get(rootView);
+      output.writeInt(profile.legacyNotchHeight);
+      output.writeInt(profile.navigationBarHeight);
+      output.writeInt(profile.realDisplayWidth);
+      output.writeInt(profile.realDisplayHeight);
+      output.writeInt(profile.displayWidth);
+      output.writeInt(profile.displayHeight);
+      output.writeInt(SafeAreaUtils.getNavigationBarSettingForTrace(rootView.getContext()));
+
+      output.writeBoolean(hasInsets);
+      output.writeFloat(hasInsets ? insets.top : 0);
+      output.writeFloat(hasInsets ? insets.right : 0);
+      output.writeFloat(hasInsets ? insets.bottom : 0);
+      output.writeFloat(hasInsets ? insets.left : 0);
+      sRecordCount += 1;
+    } catch (IOException e) {
+      // Can't happen when writing to memory.
+      throw new RuntimeException(e);
+    }
+  }
+
+  static synchronized void recordFrame(View rootView, View view, com.th3rdwave.safeareacontext.Rect frame) {
+    DataOutputStream output = sOutput;
+    if (output == null || sRecordCount >= MAX_RECORD_COUNT) {
+      return;
+    }
+    try {
+      output.writeByte(RECORD_FRAME);
+      output.writeInt(view.getWidth());
+      output.writeInt(view.getHeight());
+      Rect rect = sTmpRect;
+      view.getDrawingRect(rect);
+      writeRect(output, rect);
+
+      int depth = 0;
+      for (View current = view; current != rootView; current = (View) current.getParent()) {
+        depth += 1;
+      }
+      output.writeInt(depth);
+      for (View current = view; current != rootView; current = (View) current.getParent()) {
+        output.writeInt(current.getLeft());
+        output.writeInt(current.getTop());
+        output.writeInt(current.getScrollX());
+        output.writeInt(current.getScrollY());
+      }
+
+      output.writeFloat(frame.x);
+      output.writeFloat(frame.y);
+      output.writeFloat(frame.width);
+      output.writeFloat(frame.height);
+      sRecordCount += 1;
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static void writeRect(DataOutputStream output, Rect rect) throws IOException {
+    output.writeInt(rect.left);
+    output.writeInt(rect.top);
+    output.writeInt(rect.right);
+    output.writeInt(rect.bottom);
+  }
+}
@@ -0,0 +1,227 @@
+package com.th3rdwave.safeareacontext;
+
+import android.view.Choreographer;
+import android.view.View;
+import android.view.ViewTreeObserver;
+
+import java.util.ArrayList;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Recomputes the insets of all dirty providers at most once per frame and sends the resulting
+ * change events together, after every provider of the flush has been updated.
+ *
+ * Every update mode goes through {@link #markDirty}, providers in poll mode are marked dirty at
+ * the start of every traversal of their window. The providers of a window share a single pre draw
+ * listener that flushes only the providers of that window, so the draw of a window is only
+ * skipped when one of its own SafeAreaViews got new insets. Providers that are dirty while no
+ * traversal happens are flushed by a Choreographer frame callback. Nothing is scheduled while no
+ * provider is dirty or in poll mode. Only used on the UI thread.
+ */
+/* package */ class InsetsUpdateScheduler implements Choreographer.FrameCallback {
+  private static @Nullable InsetsUpdateScheduler sInstance;
+
+  /**
+   * The attached providers of a window.
+   */
+  private static final class Window implements ViewTreeObserver.OnPreDrawListener {
+    final View rootView;
+    final ArrayList<SafeAreaProvider> providers = new ArrayList<>();
+    @Nullable ViewTreeObserver observer;
+
+    Window(View rootView) {
+      this.rootView = rootView;
+    }
+
+    @Override
+    public boolean onPreDraw() {
+      return getInstance().onPreDraw(this);
+    }
+  }
+
+  private final ArrayList<Window> mWindows = new ArrayList<>();
+  private final ArrayList<SafeAreaProvider> mDirtyProviders = new ArrayList<>();
+  private final ArrayList<SafeAreaProvider> mFlushingProviders = new ArrayList<>();
+  private final ArrayList<SafeAreaProvider> mChangedProviders = new ArrayList<>();
+  private boolean mIsFrameCallbackPosted = false;
+
+  static InsetsUpdateScheduler getInstance() {
+    if (sInstance == null) {
+      sInstance = new InsetsUpdateScheduler();
+    }
+    return sInstance;
+  }
+
+  /**
+   * Called when the provider is attached to a window.
+   */
+  void add(SafeAreaProvider provider) {
+    View rootView = provider.getRootView();
+    Window window = getWindow(rootView);
+    if (window == null) {
+      window = new Window(rootView);
+      mWindows.add(window);
+    }
+    window.providers.add(provider);
+    updatePreDrawListener(window);
+  }
+
+  /**
+   * Called when the provider is detached from its window.
+   */
+  void remove(SafeAreaProvider provider) {
+    if (provider.isInsetsDirty()) {
+      provider.setInsetsDirty(false);
+      mDirtyProviders.remove(provider);
+    }
+    for (int i = 0; i < mWindows.size(); i += 1) {
+      Window window = mWindows.get(i);
+      if (window.providers.remove(provider)) {
+        if (window.providers.isEmpty()) {
+          mWindows.remove(i);
+        }
+        updatePreDrawListener(window);
+        return;
+      }
+    }
+  }
+
+  /**
+   * Called when the update mode of an attached provider changed.
+   */
+  void onUpdateModeChanged(SafeAreaProvider provider) {
+    Window window = getWindow(provider.getRootView());
+    if (window != null) {
+      updatePreDrawListener(window);
+    }
+  }
+
+  void markDirty(SafeAreaProvider provider) {
+    if (!addDirtyProvider(provider)) {
+      return;
+    }
+    // Flush in the pre draw of the window if a traversal happens so the new insets don't wait
+    // for the next frame, the frame callback handles the case where there is none.
+    Window window = getWindow(provider.getRootView());
+    if (window != null) {
+      updatePreDrawListener(window);
+    }
+    if (!mIsFrameCallbackPosted) {
+      mIsFrameCallbackPosted = true;
+      Choreographer.getInstance().postFrameCallback(this);
+    }
+  }
+
+  private boolean addDirtyProvider(SafeAreaProvider provider) {
+    if (provider.isInsetsDirty()) {
+      return false;
+    }
+    provider.setInsetsDirty(true);
+    mDirtyProviders.add(provider);
+    return true;
+  }
+
+  private @Nullable Window getWindow(View rootView) {
+    for (int i = 0; i < mWindows.size(); i += 1) {
+      Window window = mWindows.get(i);
+      if (window.rootView == rootView) {
+        return window;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * The pre draw listener of a window is only registered while one of its providers is in poll
+   * mode or dirty.
+   */
+  private void updatePreDrawListener(Window window) {
+    boolean needsListener = false;
+    for (int i = 0; i < window.providers.size(); i += 1) {
+      SafeAreaProvider provider = window.providers.get(i);
+      if (provider.getUpdateMode() == SafeAreaProviderUpdateMode.POLL || provider.isInsetsDirty()) {
+        needsListener = true;
+        break;
+      }
+    }
+    if (needsListener && window.observer == null) {
+      window.observer = window.rootView.getViewTreeObserver();
+      window.observer.addOnPreDrawListener(window);
+    } else if (!needsListener && window.observer != null) {
+      if (window.observer.isAlive()) {
+        window.observer.removeOnPreDrawListener(window);
+      }
+      window.observer = null;
+    }
+  }
+
+  private boolean onPreDraw(Window window) {
+    SafeAreaStats.increment(SafeAreaStats.Counter.PRE_DRAW);
+    long startTime = System.nanoTime();
+    for (int i = 0; i < window.providers.size(); i += 1) {
+      SafeAreaProvider provider = window.providers.get(i);
+      if (provider.getUpdateMode() == SafeAreaProviderUpdateMode.POLL) {
+        addDirtyProvider(provider);
+      }
+    }
+    boolean didUpdateViews = flush(window.rootView);
+    updatePreDrawListener(window);
+    SafeAreaStats.record(SafeAreaStats.Timer.PRE_DRAW, System.nanoTime() - startTime);
+    // Skip drawing this frame if a SafeAreaView of this window needs to layout with the new
+    // insets.
+    return !didUpdateViews;
+  }
+
+  @Override
+  public void doFrame(long frameTimeNanos) {
+    mIsFrameCallbackPosted = false;
+    flush(null);
+    for (int i = 0; i < mWindows.size(); i += 1) {
+      updatePreDrawListener(mWindows.get(i));
+    }
+  }
+
+  /**
+   * Computes the dirty providers of the window, or of every window if null, then sends their
+   * change events.
+   *
+   * @return true if a SafeAreaView got new insets and needs to layout before the next draw.
+   */
+  private boolean flush(@Nullable View rootView) {
+    for (int i = 0; i < mDirtyProviders.size(); ) {
+      SafeAreaProvider provider = mDirtyProviders.get(i);
+      if (rootView == null || provider.getRootView() == rootView) {
+        provider.setInsetsDirty(false);
+        mDirtyProviders.remove(i);
+        mFlushingProviders.add(provider);
+      } else {
+        i += 1;
+      }
+    }
+    if (mDirtyProviders.isEmpty() && mIsFrameCallbackPosted) {
+      mIsFrameCallbackPosted = false;
+      Choreographer.getInstance().removeFrameCallback(this);
+    }
+    if (mFlushingProviders.isEmpty()) {
+      return false;
+    }
+    boolean didUpdateViews = false;
+    SafeAreaUtils.beginInsetsPass();
+    // Providers marked dirty while computing are flushed on the next frame.
+    for (int i = 0; i < mFlushingProviders.size(); i += 1) {
+      SafeAreaProvider provider = mFlushingProviders.get(i);
+      didUpdateViews |= provider.computeInsets();
+      if (provider.hasPendingInsetsChange()) {
+        mChangedProviders.add(provider);
+      }
+    }
+    mFlushingProviders.clear();
+    for (int i = 0; i < mChangedProviders.size(); i += 1) {
+      mChangedProviders.get(i).dispatchPendingInsetsChange();
+    }
+    mChangedProviders.clear();
+    SafeAreaUtils.endInsetsPass();
+    return didUpdateViews;
+  }
+}
@@ -1,47 +1,27 @@
 package com.th3rdwave.safeareacontext;
 
 import android.content.Context;
-import android.graphics.Point;
-import android.os.Build;
-import android.view.Display;
-import android.view.WindowManager;
+import android.view.View;
 
 public class NavigationUtils {
   /**
    * 判断是否是全面屏
+   * The result is cached per display, see {@link DeviceInsetsProfile}.
    */
-  private volatile static boolean mHasCheckAllScreen;
-  private volatile static boolean mIsAllScreenDevice;
-
   public static boolean isAllScreenDevice(Context context) {
-    if (mHasCheckAllScreen) {
-      return mIsAllScreenDevice;
-    }
-    mHasCheckAllScreen = true;
-    mIsAllScreenDevice = false;
-    // 低于 API 21的，都不会是全面屏。。。
-    if (Build.VERSION.SDK_INT < Build.VERSION_CODES.LOLLIPOP) {
+    try {
+      return DeviceInsetsProfile.get(context).isAllScreenDevice;
+    } catch (Throwable e) {
       return false;
     }
+  }
+
+  /**
+   * Same as {@link #isAllScreenDevice(Context)} for the display the view is on.
+   */
+  public static boolean isAllScreenDevice(View view) {
     try {
-      WindowManager windowManager = (WindowManager) context.getSystemService(Context.WINDOW_SERVICE);
-      if (windowManager != null) {
-        Display display = context.getDisplay();
-        Point point = new Point();
-        display.getRealSize(point);
-        float width, height;
-        if (point.x < point.y) {
-          width = point.x;
-          height = point.y;
-        } else {
-          width = point.y;
-          height = point.x;
-        }
-        if (height / width >= 1.97f) {
-          mIsAllScreenDevice = true;
-        }
-      }
-      return mIsAllScreenDevice;
+      return DeviceInsetsProfile.get(view).isAllScreenDevice;
     } catch (Throwable e) {
       return false;
     }
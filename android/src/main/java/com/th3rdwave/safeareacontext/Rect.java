@@ -6,6 +6,9 @@ package com.th3rdwave.safeareacontext;
   float width;
   float height;
 
+  Rect() {
+  }
+
   Rect(float x, float y, float width, float height) {
     this.x = x;
     this.y = y;
@@ -13,6 +16,27 @@ package com.th3rdwave.safeareacontext;
     this.height = height;
   }
 
+  Rect(Rect other) {
+    set(other.x, other.y, other.width, other.height);
+  }
+
+  void set(float x, float y, float width, float height) {
+    this.x = x;
+    this.y = y;
+    this.width = width;
+    this.height = height;
+  }
+
+  /**
+   * @return true if no value differs by threshold or more.
+   */
+  boolean equalsToRect(Rect other, float threshold) {
+    return Math.abs(this.x - other.x) < threshold &&
+        Math.abs(this.y - other.y) < threshold &&
+        Math.abs(this.width - other.width) < threshold &&
+        Math.abs(this.height - other.height) < threshold;
+  }
+
   boolean equalsToRect(Rect other) {
     if (this == other) {
       return true;
@@ -8,7 +8,6 @@ import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.uimanager.ViewManager;
 
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 
 public class SafeAreaContextPackage implements ReactPackage {
@@ -16,12 +15,19 @@ public class SafeAreaContextPackage implements ReactPackage {
   @NonNull
   @Override
   public List<NativeModule> createNativeModules(@NonNull ReactApplicationContext reactContext) {
-    return Collections.emptyList();
+    // This is the first time the package gets a context, start computing the device metrics
+    // in the background before the first provider needs them.
+    SafeAreaWarmUp.start(reactContext);
+    return Arrays.<NativeModule>asList(
+            new SafeAreaMetricsModule(reactContext),
+            new SafeAreaStatsModule(reactContext)
+    );
   }
 
   @NonNull
   @Override
   public List<ViewManager> createViewManagers(@NonNull ReactApplicationContext reactContext) {
+    SafeAreaWarmUp.start(reactContext);
     return Arrays.<ViewManager>asList(
             new SafeAreaProviderManager(reactContext),
             new SafeAreaViewManager()
@@ -0,0 +1,50 @@
+package com.th3rdwave.safeareacontext;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactContextBaseJavaModule;
+import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.module.annotations.ReactModule;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Synchronous access to the latest metrics so JS can render with the right insets without
+ * waiting for an insets change event.
+ */
+@ReactModule(name = SafeAreaMetricsModule.NAME)
+public class SafeAreaMetricsModule extends ReactContextBaseJavaModule {
+  static final String NAME = "RNCSafeAreaMetrics";
+
+  public SafeAreaMetricsModule(ReactApplicationContext reactContext) {
+    super(reactContext);
+  }
+
+  @Override
+  @NonNull
+  public String getName() {
+    return NAME;
+  }
+
+  @ReactMethod(isBlockingSynchronousMethod = true)
+  public @Nullable WritableMap getProviderMetrics(double reactTag) {
+    return metricsToJsMap(SafeAreaMetricsRegistry.getProviderMetrics((int) reactTag));
+  }
+
+  @ReactMethod(isBlockingSynchronousMethod = true)
+  public @Nullable WritableMap getWindowMetrics() {
+    return metricsToJsMap(SafeAreaMetricsRegistry.getWindowMetrics());
+  }
+
+  private static @Nullable WritableMap metricsToJsMap(@Nullable SafeAreaMetricsRegistry.Metrics metrics) {
+    if (metrics == null) {
+      return null;
+    }
+    WritableMap map = Arguments.createMap();
+    map.putMap("insets", SerializationUtils.edgeInsetsToJsMap(metrics.insets));
+    map.putMap("frame", SerializationUtils.rectToJsMap(metrics.frame));
+    return map;
+  }
+}
@@ -0,0 +1,82 @@
+package com.th3rdwave.safeareacontext;
+
+import android.view.View;
+import android.view.ViewGroup;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Latest metrics of every mounted provider and of the root window. Written on the UI thread
+ * when the metrics change and read synchronously from JS.
+ */
+/* package */ final class SafeAreaMetricsRegistry {
+  static final class Metrics {
+    final EdgeInsets insets;
+    final Rect frame;
+
+    Metrics(EdgeInsets insets, Rect frame) {
+      this.insets = insets;
+      this.frame = frame;
+    }
+  }
+
+  private static final ConcurrentHashMap<Integer, Metrics> sProviderMetrics = new ConcurrentHashMap<>();
+  private static volatile @Nullable Metrics sWindowMetrics;
+  // Scratch objects for updateWindowMetrics.
+  private static final EdgeInsets sTmpInsets = new EdgeInsets();
+  private static final Rect sTmpFrame = new Rect();
+  private static final android.graphics.Rect sTmpRect = new android.graphics.Rect();
+
+  private SafeAreaMetricsRegistry() {
+  }
+
+  /**
+   * The insets and frame must not be modified after being passed here.
+   */
+  static void setProviderMetrics(int reactTag, EdgeInsets insets, Rect frame) {
+    sProviderMetrics.put(reactTag, new Metrics(insets, frame));
+  }
+
+  static void removeProviderMetrics(int reactTag) {
+    sProviderMetrics.remove(reactTag);
+  }
+
+  static @Nullable Metrics getProviderMetrics(int reactTag) {
+    return sProviderMetrics.get(reactTag);
+  }
+
+  static @Nullable Metrics getWindowMetrics() {
+    return sWindowMetrics;
+  }
+
+  /**
+   * Computes the metrics of the window the view is in and stores them as the latest window
+   * metrics. Only called on the UI thread. During an insets update pass the root window insets
+   * computed for the providers are reused, and new metrics are only allocated when they changed.
+   */
+  static @Nullable Metrics updateWindowMetrics(View view) {
+    View rootView = view.getRootView();
+    if (!(rootView instanceof ViewGroup)) {
+      return null;
+    }
+    View contentView = rootView.findViewById(android.R.id.content);
+    if (contentView == null) {
+      return null;
+    }
+    if (!SafeAreaUtils.getSafeAreaInsets(rootView, sTmpInsets, sTmpRect) ||
+        !SafeAreaUtils.getFrame((ViewGroup) rootView, contentView, sTmpFrame, sTmpRect)) {
+      return null;
+    }
+    Metrics metrics = sWindowMetrics;
+    if (metrics != null &&
+        metrics.insets.equalsToEdgeInsets(sTmpInsets) &&
+        metrics.frame.equalsToRect(sTmpFrame)) {
+      return metrics;
+    }
+    metrics = new Metrics(new EdgeInsets(sTmpInsets), new Rect(sTmpFrame));
+    sWindowMetrics = metrics;
+    return metrics;
+  }
+}
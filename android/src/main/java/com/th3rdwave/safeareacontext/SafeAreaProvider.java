@@ -2,47 +2,279 @@ package com.th3rdwave.safeareacontext;
 
 import android.annotation.SuppressLint;
 import android.content.Context;
+import android.os.Build;
+import android.view.View;
 import android.view.ViewGroup;
 import android.view.ViewTreeObserver;
+import android.view.WindowInsets;
 
 import com.facebook.infer.annotation.Assertions;
 import com.facebook.react.views.view.ReactViewGroup;
 
 import androidx.annotation.Nullable;
+import androidx.annotation.RequiresApi;
 
 @SuppressLint("ViewConstructor")
-public class SafeAreaProvider extends ReactViewGroup implements ViewTreeObserver.OnPreDrawListener {
+public class SafeAreaProvider extends ReactViewGroup {
   public interface OnInsetsChangeListener {
-    void onInsetsChange(SafeAreaProvider view, EdgeInsets insets, Rect frame);
+    void onInsetsChange(SafeAreaProvider view, EdgeInsets insets, Rect frame, int changedFields, int version);
+  }
+
+  public interface OnImeInsetsChangeListener {
+    void onImeInsetsChange(SafeAreaProvider view, int bottom, boolean isAnimating);
   }
 
   private @Nullable OnInsetsChangeListener mInsetsChangeListener;
+  private @Nullable OnImeInsetsChangeListener mImeInsetsChangeListener;
   private @Nullable EdgeInsets mLastInsets;
   private @Nullable Rect mLastFrame;
+  private final InsetsDispatcher mInsetsDispatcher = new InsetsDispatcher();
+  // Scratch objects reused every frame to avoid allocations.
+  private final EdgeInsets mInsets = new EdgeInsets();
+  private final Rect mFrame = new Rect();
+  private final android.graphics.Rect mTmpRect = new android.graphics.Rect();
+  private SafeAreaProviderUpdateMode mUpdateMode = SafeAreaProviderUpdateMode.POLL;
+  private InsetsEventFormat mEventFormat = InsetsEventFormat.FULL;
+  private int mInsetsVersion = 0;
+  private boolean mImeInsetsEnabled = false;
+  private int mImeInsetsSampleInterval = 1;
+  // ImeInsetsAnimationCallback on Android 11+, only accessed through ImeInsetsApi30.
+  private @Nullable Object mImeInsetsCallback;
+  private boolean mIsInsetsDirty = false;
+  private boolean mHasPendingInsetsChange = false;
+  private int mPendingChangedFields = 0;
+  // Changes smaller than this, in pixels, are held back while the values keep changing.
+  private float mChangeThreshold = 0;
+  // Exact values held back by the threshold, applied once they stop changing.
+  private final EdgeInsets mHeldInsets = new EdgeInsets();
+  private final Rect mHeldFrame = new Rect();
+  private boolean mHasHeldInsets = false;
+  private boolean mHasHeldFrame = false;
+  private SafeAreaProviderFrameTracking mFrameTracking = SafeAreaProviderFrameTracking.FULL;
+  // Set when a layout happened in the window, the frame is then computed again in LAYOUT mode.
+  private boolean mIsFrameDirty = true;
+  private boolean mHasGlobalLayoutListener = false;
+
+  private final View.OnApplyWindowInsetsListener mApplyWindowInsetsListener = new View.OnApplyWindowInsetsListener() {
+    @Override
+    public WindowInsets onApplyWindowInsets(View view, WindowInsets insets) {
+      scheduleInsetsUpdate();
+      return view.onApplyWindowInsets(insets);
+    }
+  };
+
+  private final View.OnLayoutChangeListener mLayoutChangeListener = new View.OnLayoutChangeListener() {
+    @Override
+    public void onLayoutChange(View view, int left, int top, int right, int bottom, int oldLeft, int oldTop, int oldRight, int oldBottom) {
+      scheduleInsetsUpdate();
+    }
+  };
+
+  // A layout anywhere in the window can move the provider, onLayout only reports changes of its
+  // position relative to its parent.
+  private final ViewTreeObserver.OnGlobalLayoutListener mGlobalLayoutListener = new ViewTreeObserver.OnGlobalLayoutListener() {
+    @Override
+    public void onGlobalLayout() {
+      mIsFrameDirty = true;
+      if (mUpdateMode == SafeAreaProviderUpdateMode.EVENT) {
+        scheduleInsetsUpdate();
+      }
+    }
+  };
 
   public SafeAreaProvider(Context context) {
     super(context);
   }
 
-  private void maybeUpdateInsets() {
-    EdgeInsets edgeInsets = SafeAreaUtils.getSafeAreaInsets(this);
-    Rect frame = SafeAreaUtils.getFrame((ViewGroup) getRootView(), this);
-    if (edgeInsets != null && frame != null &&
+  private boolean maybeUpdateInsets() {
+    SafeAreaUtils.beginInsetsPass();
+    boolean didUpdateViews = computeInsets();
+    dispatchPendingInsetsChange();
+    SafeAreaUtils.endInsetsPass();
+    return didUpdateViews;
+  }
+
+  /**
+   * Computes the insets and forwards them to the SafeAreaViews, the change event is kept pending
+   * until {@link #dispatchPendingInsetsChange()} so the scheduler can send the events of all
+   * providers together.
+   *
+   * @return true if a SafeAreaView got new insets.
+   */
+  /* package */ boolean computeInsets() {
+    boolean hasInsets = SafeAreaUtils.getSafeAreaInsets(this, mInsets, mTmpRect);
+    boolean hasFrame = updateFrame();
+    // Changes below the threshold keep the previous values while they keep changing, this avoids
+    // sending events and layouts on every frame of an animation that moves the provider a little.
+    // The exact values are applied on the first update where they didn't change anymore.
+    boolean hasHeldValues = false;
+    if (hasInsets && mLastInsets != null && mChangeThreshold > 0) {
+      if (mHasHeldInsets && mInsets.equalsToEdgeInsets(mHeldInsets)) {
+        mHasHeldInsets = false;
+      } else if (!mInsets.equalsToEdgeInsets(mLastInsets) && mInsets.equalsToEdgeInsets(mLastInsets, mChangeThreshold)) {
+        mHeldInsets.set(mInsets);
+        mHasHeldInsets = true;
+        mInsets.set(mLastInsets);
+      } else {
+        mHasHeldInsets = false;
+      }
+      hasHeldValues = mHasHeldInsets;
+    }
+    if (hasFrame && mLastFrame != null && mChangeThreshold > 0) {
+      if (mHasHeldFrame && mFrame.equalsToRect(mHeldFrame)) {
+        mHasHeldFrame = false;
+      } else if (!mFrame.equalsToRect(mLastFrame) && mFrame.equalsToRect(mLastFrame, mChangeThreshold)) {
+        mHeldFrame.set(mFrame.x, mFrame.y, mFrame.width, mFrame.height);
+        mHasHeldFrame = true;
+        mFrame.set(mLastFrame.x, mLastFrame.y, mLastFrame.width, mLastFrame.height);
+      } else {
+        mHasHeldFrame = false;
+      }
+      hasHeldValues |= mHasHeldFrame;
+    }
+    if (hasHeldValues) {
+      // Nothing else may trigger an update once the values stop changing, in poll mode too since
+      // there may be no other traversal.
+      scheduleInsetsUpdate();
+    }
+    boolean didUpdateViews = hasInsets && mInsetsDispatcher.dispatch(mInsets);
+    if (hasInsets && hasFrame &&
         (mLastInsets == null ||
             mLastFrame == null ||
-            !mLastInsets.equalsToEdgeInsets(edgeInsets) ||
-            !mLastFrame.equalsToRect(frame))) {
-      Assertions.assertNotNull(mInsetsChangeListener).onInsetsChange(this, edgeInsets, frame);
+            !mLastInsets.equalsToEdgeInsets(mInsets) ||
+            !mLastFrame.equalsToRect(mFrame))) {
+      // The listener can hold on to these so they need to be copied out of the scratch objects.
+      EdgeInsets edgeInsets = new EdgeInsets(mInsets);
+      Rect frame = new Rect(mFrame);
+      mPendingChangedFields |= InsetsChangeEvent.getChangedFields(mLastInsets, mLastFrame, edgeInsets, frame);
+      mHasPendingInsetsChange = true;
       mLastInsets = edgeInsets;
       mLastFrame = frame;
     }
+    return didUpdateViews;
+  }
+
+  private boolean updateFrame() {
+    if (mFrameTracking == SafeAreaProviderFrameTracking.NONE) {
+      // Only the size is sent, the position in the window is not tracked.
+      mFrame.set(0, 0, getWidth(), getHeight());
+      return true;
+    }
+    if (mFrameTracking == SafeAreaProviderFrameTracking.LAYOUT && !mIsFrameDirty && mLastFrame != null) {
+      mFrame.set(mLastFrame.x, mLastFrame.y, mLastFrame.width, mLastFrame.height);
+      return true;
+    }
+    boolean hasFrame = SafeAreaUtils.getFrame((ViewGroup) getRootView(), this, mFrame, mTmpRect);
+    mIsFrameDirty = !hasFrame;
+    return hasFrame;
+  }
+
+  /* package */ boolean hasPendingInsetsChange() {
+    return mHasPendingInsetsChange;
+  }
+
+  /* package */ void dispatchPendingInsetsChange() {
+    if (!mHasPendingInsetsChange || mLastInsets == null || mLastFrame == null) {
+      return;
+    }
+    mHasPendingInsetsChange = false;
+    int changedFields = mPendingChangedFields;
+    mPendingChangedFields = 0;
+    mInsetsVersion += 1;
+    Assertions.assertNotNull(mInsetsChangeListener).onInsetsChange(this, mLastInsets, mLastFrame, changedFields, mInsetsVersion);
+    SafeAreaMetricsRegistry.setProviderMetrics(getId(), mLastInsets, mLastFrame);
+    SafeAreaMetricsRegistry.updateWindowMetrics(this);
+  }
+
+  /* package */ boolean isInsetsDirty() {
+    return mIsInsetsDirty;
+  }
+
+  /* package */ void setInsetsDirty(boolean isInsetsDirty) {
+    mIsInsetsDirty = isInsetsDirty;
+  }
+
+  /* package */ void addSafeAreaView(SafeAreaView view) {
+    mInsetsDispatcher.add(view);
+  }
+
+  /* package */ void removeSafeAreaView(SafeAreaView view) {
+    mInsetsDispatcher.remove(view);
+  }
+
+  private void startObservingInsets() {
+    if (mUpdateMode == SafeAreaProviderUpdateMode.EVENT) {
+      // Only compute insets when the window insets or the provider layout changed,
+      // this avoids doing any work on frames where nothing changed. In poll mode the scheduler
+      // marks the provider dirty on every traversal.
+      setOnApplyWindowInsetsListener(mApplyWindowInsetsListener);
+      addOnLayoutChangeListener(mLayoutChangeListener);
+    }
+  }
+
+  private void stopObservingInsets() {
+    if (mUpdateMode == SafeAreaProviderUpdateMode.EVENT) {
+      setOnApplyWindowInsetsListener(null);
+      removeOnLayoutChangeListener(mLayoutChangeListener);
+    }
+  }
+
+  private void updateGlobalLayoutListener(boolean isAttached) {
+    boolean needsListener = isAttached && mFrameTracking == SafeAreaProviderFrameTracking.LAYOUT;
+    if (needsListener == mHasGlobalLayoutListener) {
+      return;
+    }
+    mHasGlobalLayoutListener = needsListener;
+    if (needsListener) {
+      getViewTreeObserver().addOnGlobalLayoutListener(mGlobalLayoutListener);
+    } else {
+      getViewTreeObserver().removeOnGlobalLayoutListener(mGlobalLayoutListener);
+    }
+  }
+
+  private void startObservingImeInsets() {
+    if (!mImeInsetsEnabled || Build.VERSION.SDK_INT < Build.VERSION_CODES.R) {
+      return;
+    }
+    mImeInsetsCallback = ImeInsetsApi30.startObserving(this, mImeInsetsSampleInterval);
+  }
+
+  private void stopObservingImeInsets() {
+    if (mImeInsetsCallback != null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.R) {
+      ImeInsetsApi30.stopObserving(this);
+    }
+    mImeInsetsCallback = null;
+  }
+
+  private void dispatchImeInsetsChange(int bottom, boolean isAnimating) {
+    if (mImeInsetsChangeListener != null) {
+      mImeInsetsChangeListener.onImeInsetsChange(this, bottom, isAnimating);
+    }
+  }
+
+  @Override
+  public WindowInsets dispatchApplyWindowInsets(WindowInsets insets) {
+    WindowInsets result = super.dispatchApplyWindowInsets(insets);
+    if (mImeInsetsCallback != null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.R) {
+      // IME changes applied without an insets animation, like a hardware keyboard toggle or a
+      // window that doesn't get the animation callbacks, are only seen here.
+      ImeInsetsApi30.syncImeInsets(mImeInsetsCallback);
+    }
+    return result;
+  }
+
+  private void scheduleInsetsUpdate() {
+    InsetsUpdateScheduler.getInstance().markDirty(this);
   }
 
   @Override
   protected void onAttachedToWindow() {
     super.onAttachedToWindow();
 
-    getViewTreeObserver().addOnPreDrawListener(this);
+    startObservingInsets();
+    startObservingImeInsets();
+    updateGlobalLayoutListener(true);
+    InsetsUpdateScheduler.getInstance().add(this);
     maybeUpdateInsets();
   }
 
@@ -50,17 +282,126 @@ public class SafeAreaProvider extends ReactViewGroup implements ViewTreeObserver
   protected void onDetachedFromWindow() {
     super.onDetachedFromWindow();
 
-    getViewTreeObserver().removeOnPreDrawListener(this);
+    stopObservingInsets();
+    // Still attached at this point.
+    updateGlobalLayoutListener(false);
+    stopObservingImeInsets();
+    InsetsUpdateScheduler.getInstance().remove(this);
+    SafeAreaMetricsRegistry.removeProviderMetrics(getId());
   }
 
-  @Override
-  public boolean onPreDraw() {
-    maybeUpdateInsets();
-    return true;
+  public void setUpdateMode(SafeAreaProviderUpdateMode updateMode) {
+    if (updateMode == mUpdateMode) {
+      return;
+    }
+    boolean isAttached = isAttachedToWindow();
+    if (isAttached) {
+      stopObservingInsets();
+    }
+    mUpdateMode = updateMode;
+    if (isAttached) {
+      startObservingInsets();
+      InsetsUpdateScheduler.getInstance().onUpdateModeChanged(this);
+      scheduleInsetsUpdate();
+    }
+  }
+
+  /* package */ SafeAreaProviderUpdateMode getUpdateMode() {
+    return mUpdateMode;
+  }
+
+  public InsetsEventFormat getEventFormat() {
+    return mEventFormat;
   }
 
+  public void setEventFormat(InsetsEventFormat eventFormat) {
+    mEventFormat = eventFormat;
+  }
+
+  /**
+   * Sends the IME insets on every frame of the keyboard animation. Only supported on Android 11+.
+   */
+  public void setImeInsetsEnabled(boolean enabled) {
+    if (enabled == mImeInsetsEnabled) {
+      return;
+    }
+    mImeInsetsEnabled = enabled;
+    if (isAttachedToWindow()) {
+      stopObservingImeInsets();
+      startObservingImeInsets();
+    }
+  }
+
+  public void setImeInsetsSampleInterval(int sampleInterval) {
+    mImeInsetsSampleInterval = sampleInterval;
+    if (mImeInsetsCallback != null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.R) {
+      ImeInsetsApi30.setSampleInterval(mImeInsetsCallback, sampleInterval);
+    }
+  }
+
+  public void setFrameTracking(SafeAreaProviderFrameTracking frameTracking) {
+    if (frameTracking == mFrameTracking) {
+      return;
+    }
+    mFrameTracking = frameTracking;
+    mIsFrameDirty = true;
+    updateGlobalLayoutListener(isAttachedToWindow());
+    if (isAttachedToWindow()) {
+      scheduleInsetsUpdate();
+    }
+  }
+
+  /**
+   * @param threshold in pixels, insets and frame changes smaller than this are ignored.
+   */
+  public void setChangeThreshold(float threshold) {
+    mChangeThreshold = threshold;
+  }
 
   public void setOnInsetsChangeListener(OnInsetsChangeListener listener) {
     mInsetsChangeListener = listener;
   }
+
+  public void setOnImeInsetsChangeListener(OnImeInsetsChangeListener listener) {
+    mImeInsetsChangeListener = listener;
+  }
+
+  /**
+   * Every use of the Android 11 IME insets apis. Older versions of ART fail to verify a class
+   * that references them, keeping them here means only this class fails and it is never loaded
+   * there.
+   */
+  @RequiresApi(Build.VERSION_CODES.R)
+  private static final class ImeInsetsApi30 {
+    private ImeInsetsApi30() {
+    }
+
+    static Object startObserving(final SafeAreaProvider provider, int sampleInterval) {
+      ImeInsetsAnimationCallback callback = new ImeInsetsAnimationCallback(provider, new ImeInsetsAnimationCallback.Listener() {
+        @Override
+        public void onImeInsetsChange(int bottom, boolean isAnimating) {
+          provider.dispatchImeInsetsChange(bottom, isAnimating);
+        }
+      });
+      callback.setSampleInterval(sampleInterval);
+      provider.setWindowInsetsAnimationCallback(callback);
+      callback.dispatchCurrentInsets();
+      return callback;
+    }
+
+    static void stopObserving(SafeAreaProvider provider) {
+      provider.setWindowInsetsAnimationCallback(null);
+    }
+
+    static void setSampleInterval(Object callback, int sampleInterval) {
+      ((ImeInsetsAnimationCallback) callback).setSampleInterval(sampleInterval);
+    }
+
+    static void syncImeInsets(Object callback) {
+      ImeInsetsAnimationCallback imeCallback = (ImeInsetsAnimationCallback) callback;
+      if (!imeCallback.isImeAnimationRunning()) {
+        imeCallback.dispatchCurrentInsets();
+      }
+    }
+  }
 }
@@ -0,0 +1,7 @@
+package com.th3rdwave.safeareacontext;
+
+public enum SafeAreaProviderFrameTracking {
+  NONE,
+  LAYOUT,
+  FULL
+}
@@ -1,14 +1,18 @@
 package com.th3rdwave.safeareacontext;
 
 import android.app.Activity;
-import android.view.View;
 import android.view.ViewGroup;
+import android.view.ViewTreeObserver;
 
+import com.facebook.react.bridge.LifecycleEventListener;
 import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.UiThreadUtil;
 import com.facebook.react.common.MapBuilder;
+import com.facebook.react.uimanager.PixelUtil;
 import com.facebook.react.uimanager.ThemedReactContext;
 import com.facebook.react.uimanager.UIManagerModule;
 import com.facebook.react.uimanager.ViewGroupManager;
+import com.facebook.react.uimanager.annotations.ReactProp;
 import com.facebook.react.uimanager.events.EventDispatcher;
 
 import java.util.Map;
@@ -16,13 +20,25 @@ import java.util.Map;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
-public class SafeAreaProviderManager extends ViewGroupManager<SafeAreaProvider> {
+public class SafeAreaProviderManager extends ViewGroupManager<SafeAreaProvider> implements LifecycleEventListener {
   private final ReactApplicationContext mContext;
+  private volatile @Nullable Map<String, Object> mInitialWindowMetrics;
 
   public SafeAreaProviderManager(ReactApplicationContext context) {
     super();
 
     mContext = context;
+    // Capture the initial window metrics as soon as the activity window is laid out so
+    // exporting the view constants during startup doesn't have to compute them from the views.
+    // The activity can already be there when the manager is created, otherwise it is captured
+    // when it resumes.
+    mContext.addLifecycleEventListener(this);
+    UiThreadUtil.runOnUiThread(new Runnable() {
+      @Override
+      public void run() {
+        captureInitialWindowMetricsWhenLaidOut();
+      }
+    });
   }
 
   @Override
@@ -37,14 +53,66 @@ public class SafeAreaProviderManager extends ViewGroupManager<SafeAreaProvider>
     return new SafeAreaProvider(context);
   }
 
+  @ReactProp(name = "insetsUpdateMode")
+  public void setInsetsUpdateMode(SafeAreaProvider view, @Nullable String updateMode) {
+    if ("event".equals(updateMode)) {
+      view.setUpdateMode(SafeAreaProviderUpdateMode.EVENT);
+    } else {
+      view.setUpdateMode(SafeAreaProviderUpdateMode.POLL);
+    }
+  }
+
+  @ReactProp(name = "insetsEventFormat")
+  public void setInsetsEventFormat(SafeAreaProvider view, @Nullable String eventFormat) {
+    if ("delta".equals(eventFormat)) {
+      view.setEventFormat(InsetsEventFormat.DELTA);
+    } else if ("compact".equals(eventFormat)) {
+      view.setEventFormat(InsetsEventFormat.COMPACT);
+    } else {
+      view.setEventFormat(InsetsEventFormat.FULL);
+    }
+  }
+
+  @ReactProp(name = "frameTracking")
+  public void setFrameTracking(SafeAreaProvider view, @Nullable String frameTracking) {
+    if ("none".equals(frameTracking)) {
+      view.setFrameTracking(SafeAreaProviderFrameTracking.NONE);
+    } else if ("layout".equals(frameTracking)) {
+      view.setFrameTracking(SafeAreaProviderFrameTracking.LAYOUT);
+    } else {
+      view.setFrameTracking(SafeAreaProviderFrameTracking.FULL);
+    }
+  }
+
+  @ReactProp(name = "imeInsetsEnabled")
+  public void setImeInsetsEnabled(SafeAreaProvider view, boolean enabled) {
+    view.setImeInsetsEnabled(enabled);
+  }
+
+  @ReactProp(name = "imeInsetsSampleInterval", defaultInt = 1)
+  public void setImeInsetsSampleInterval(SafeAreaProvider view, int sampleInterval) {
+    view.setImeInsetsSampleInterval(sampleInterval);
+  }
+
+  @ReactProp(name = "insetsChangeThreshold", defaultFloat = 0f)
+  public void setInsetsChangeThreshold(SafeAreaProvider view, float threshold) {
+    view.setChangeThreshold(PixelUtil.toPixelFromDIP(threshold));
+  }
+
   @Override
   protected void addEventEmitters(@NonNull ThemedReactContext reactContext, @NonNull final SafeAreaProvider view) {
     final EventDispatcher dispatcher =
         reactContext.getNativeModule(UIManagerModule.class).getEventDispatcher();
     view.setOnInsetsChangeListener(new SafeAreaProvider.OnInsetsChangeListener() {
       @Override
-      public void onInsetsChange(SafeAreaProvider view, EdgeInsets insets, Rect frame) {
-        dispatcher.dispatchEvent(new InsetsChangeEvent(view.getId(), insets, frame));
+      public void onInsetsChange(SafeAreaProvider view, EdgeInsets insets, Rect frame, int changedFields, int version) {
+        dispatcher.dispatchEvent(new InsetsChangeEvent(view.getId(), insets, frame, view.getEventFormat(), changedFields, version));
+      }
+    });
+    view.setOnImeInsetsChangeListener(new SafeAreaProvider.OnImeInsetsChangeListener() {
+      @Override
+      public void onImeInsetsChange(SafeAreaProvider view, int bottom, boolean isAnimating) {
+        dispatcher.dispatchEvent(new ImeInsetsChangeEvent(view.getId(), bottom, isAnimating));
       }
     });
   }
@@ -53,29 +121,68 @@ public class SafeAreaProviderManager extends ViewGroupManager<SafeAreaProvider>
   public Map<String, Object> getExportedCustomDirectEventTypeConstants() {
     return MapBuilder.<String, Object>builder()
         .put(InsetsChangeEvent.EVENT_NAME, MapBuilder.of("registrationName", "onInsetsChange"))
+        .put(ImeInsetsChangeEvent.EVENT_NAME, MapBuilder.of("registrationName", "onImeInsetsChange"))
         .build();
   }
 
-  private @Nullable Map<String, Object> getInitialWindowMetrics() {
+  @Override
+  public void onHostResume() {
+    captureInitialWindowMetricsWhenLaidOut();
+  }
+
+  private void captureInitialWindowMetricsWhenLaidOut() {
     Activity activity = mContext.getCurrentActivity();
-    if (activity == null) {
-      return null;
+    if (mInitialWindowMetrics != null || activity == null) {
+      return;
     }
-
-    ViewGroup decorView = (ViewGroup) activity.getWindow().getDecorView();
-    if (decorView == null) {
-      return null;
+    final ViewGroup decorView = (ViewGroup) activity.getWindow().getDecorView();
+    if (decorView == null || captureInitialWindowMetrics(decorView)) {
+      return;
     }
+    decorView.getViewTreeObserver().addOnGlobalLayoutListener(new ViewTreeObserver.OnGlobalLayoutListener() {
+      @Override
+      public void onGlobalLayout() {
+        if (mInitialWindowMetrics != null || captureInitialWindowMetrics(decorView)) {
+          decorView.getViewTreeObserver().removeOnGlobalLayoutListener(this);
+        }
+      }
+    });
+  }
 
-    View contentView = decorView.findViewById(android.R.id.content);
-    if (contentView == null) {
-      return null;
+  @Override
+  public void onHostPause() {
+  }
+
+  @Override
+  public void onHostDestroy() {
+  }
+
+  private boolean captureInitialWindowMetrics(ViewGroup decorView) {
+    Map<String, Object> metrics = getWindowMetrics(decorView);
+    if (metrics == null) {
+      return false;
     }
-    EdgeInsets insets = SafeAreaUtils.getSafeAreaInsets(decorView);
-    Rect frame = SafeAreaUtils.getFrame(decorView, contentView);
-    if (insets == null || frame == null) {
+    mInitialWindowMetrics = metrics;
+    mContext.removeLifecycleEventListener(this);
+    return true;
+  }
+
+  private static @Nullable Map<String, Object> getWindowMetrics(ViewGroup decorView) {
+    SafeAreaMetricsRegistry.Metrics metrics = SafeAreaMetricsRegistry.updateWindowMetrics(decorView);
+    if (metrics == null) {
       return null;
     }
+    return MapBuilder.<String, Object>of(
+        "insets",
+        SerializationUtils.edgeInsetsToJavaMap(metrics.insets),
+        "frame",
+        SerializationUtils.rectToJavaMap(metrics.frame));
+  }
+
+  private Map<String, Object> getEstimatedWindowMetrics() {
+    EdgeInsets insets = new EdgeInsets();
+    Rect frame = new Rect();
+    SafeAreaUtils.getEstimatedWindowMetrics(mContext, insets, frame);
     return MapBuilder.<String, Object>of(
         "insets",
         SerializationUtils.edgeInsetsToJavaMap(insets),
@@ -86,9 +193,15 @@ public class SafeAreaProviderManager extends ViewGroupManager<SafeAreaProvider>
   @Nullable
   @Override
   public Map<String, Object> getExportedViewConstants() {
+    Map<String, Object> metrics = mInitialWindowMetrics;
+    if (metrics == null) {
+      // Constants are usually exported before the window is laid out, the metrics are then
+      // estimated from the display instead of reading the views.
+      metrics = getEstimatedWindowMetrics();
+    }
     return MapBuilder.<String, Object>of(
         "initialWindowMetrics",
-        getInitialWindowMetrics());
+        metrics);
 
   }
 }
@@ -0,0 +1,6 @@
+package com.th3rdwave.safeareacontext;
+
+public enum SafeAreaProviderUpdateMode {
+  POLL,
+  EVENT
+}
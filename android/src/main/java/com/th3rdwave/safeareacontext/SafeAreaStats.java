@@ -0,0 +1,105 @@
+package com.th3rdwave.safeareacontext;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counters and latency histograms for the hot paths of the library. Recording only updates
+ * preallocated atomics, it doesn't lock or allocate so it is cheap enough to leave on in
+ * release builds.
+ */
+public final class SafeAreaStats {
+  public enum Counter {
+    /** Pre-draw callbacks of providers and views. */
+    PRE_DRAW,
+    GET_SAFE_AREA_INSETS,
+    /** The root window insets were reused from an earlier computation in the same frame. */
+    ROOT_INSETS_CACHE_HIT,
+    /** The window had no top inset and the vendor notch height was used, only before Android P. */
+    NOTCH_HEIGHT_FALLBACK,
+    /** The window had no bottom inset and the soft navigation bar was detected from the device. */
+    NAVIGATION_BAR_FALLBACK,
+    SET_VIEW_LOCAL_DATA,
+    INSETS_CHANGE_EVENT,
+    /** Insets change events dropped because a newer event replaced them. */
+    INSETS_CHANGE_EVENT_COALESCED,
+    WAIT_FOR_LAYOUT,
+    WAIT_FOR_LAYOUT_TIMEOUT,
+  }
+
+  public enum Timer {
+    PRE_DRAW,
+    GET_SAFE_AREA_INSETS,
+    /** Time the UI thread spent blocked waiting for the React layout. */
+    WAIT_FOR_LAYOUT,
+  }
+
+  /**
+   * Durations are bucketed by powers of two, bucket i counts durations in [2^(i-1), 2^i) ns and
+   * the last bucket also counts everything above.
+   */
+  public static final int BUCKET_COUNT = 40;
+
+  // values() returns a new array every time so keep a copy.
+  private static final Counter[] COUNTERS = Counter.values();
+  private static final Timer[] TIMERS = Timer.values();
+
+  private static final AtomicLongArray sCounters = new AtomicLongArray(COUNTERS.length);
+  private static final AtomicLongArray sTotalTimes = new AtomicLongArray(TIMERS.length);
+  private static final AtomicLongArray sBuckets = new AtomicLongArray(TIMERS.length * BUCKET_COUNT);
+
+  private SafeAreaStats() {
+  }
+
+  static void increment(Counter counter) {
+    sCounters.incrementAndGet(counter.ordinal());
+  }
+
+  static void record(Timer timer, long durationNanos) {
+    long duration = Math.max(durationNanos, 0);
+    int bucket = Math.min(64 - Long.numberOfLeadingZeros(duration), BUCKET_COUNT - 1);
+    sTotalTimes.addAndGet(timer.ordinal(), duration);
+    sBuckets.incrementAndGet(timer.ordinal() * BUCKET_COUNT + bucket);
+  }
+
+  public static long getCount(Counter counter) {
+    return sCounters.get(counter.ordinal());
+  }
+
+  /**
+   * @return the number of durations recorded for the timer.
+   */
+  public static long getCount(Timer timer) {
+    long count = 0;
+    for (int i = 0; i < BUCKET_COUNT; i += 1) {
+      count += getBucketCount(timer, i);
+    }
+    return count;
+  }
+
+  public static long getTotalTimeNanos(Timer timer) {
+    return sTotalTimes.get(timer.ordinal());
+  }
+
+  public static long getBucketCount(Timer timer, int bucket) {
+    return sBuckets.get(timer.ordinal() * BUCKET_COUNT + bucket);
+  }
+
+  /**
+   * @return the exclusive upper bound of the bucket in nanoseconds.
+   */
+  public static long getBucketUpperBoundNanos(int bucket) {
+    return 1L << bucket;
+  }
+
+  public static void reset() {
+    for (int i = 0; i < sCounters.length(); i += 1) {
+      sCounters.set(i, 0);
+    }
+    for (int i = 0; i < sTotalTimes.length(); i += 1) {
+      sTotalTimes.set(i, 0);
+    }
+    for (int i = 0; i < sBuckets.length(); i += 1) {
+      sBuckets.set(i, 0);
+    }
+  }
+}
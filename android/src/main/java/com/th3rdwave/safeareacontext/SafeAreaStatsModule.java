@@ -0,0 +1,68 @@
+package com.th3rdwave.safeareacontext;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactContextBaseJavaModule;
+import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.module.annotations.ReactModule;
+
+import java.util.Locale;
+
+import androidx.annotation.NonNull;
+
+@ReactModule(name = SafeAreaStatsModule.NAME)
+public class SafeAreaStatsModule extends ReactContextBaseJavaModule {
+  static final String NAME = "RNCSafeAreaStats";
+
+  public SafeAreaStatsModule(ReactApplicationContext reactContext) {
+    super(reactContext);
+  }
+
+  @Override
+  @NonNull
+  public String getName() {
+    return NAME;
+  }
+
+  // Counts are sent as doubles since JS has no 64 bit integers.
+  @ReactMethod
+  public void getStats(Promise promise) {
+    WritableMap counters = Arguments.createMap();
+    for (SafeAreaStats.Counter counter : SafeAreaStats.Counter.values()) {
+      counters.putDouble(toJsName(counter.name()), SafeAreaStats.getCount(counter));
+    }
+    WritableMap timers = Arguments.createMap();
+    for (SafeAreaStats.Timer timer : SafeAreaStats.Timer.values()) {
+      WritableArray buckets = Arguments.createArray();
+      for (int i = 0; i < SafeAreaStats.BUCKET_COUNT; i += 1) {
+        buckets.pushDouble(SafeAreaStats.getBucketCount(timer, i));
+      }
+      WritableMap stats = Arguments.createMap();
+      stats.putDouble("count", SafeAreaStats.getCount(timer));
+      stats.putDouble("totalNanos", SafeAreaStats.getTotalTimeNanos(timer));
+      stats.putArray("buckets", buckets);
+      timers.putMap(toJsName(timer.name()), stats);
+    }
+    WritableMap result = Arguments.createMap();
+    result.putMap("counters", counters);
+    result.putMap("timers", timers);
+    promise.resolve(result);
+  }
+
+  @ReactMethod
+  public void reset() {
+    SafeAreaStats.reset();
+  }
+
+  private static String toJsName(String name) {
+    String[] parts = name.toLowerCase(Locale.ROOT).split("_");
+    StringBuilder builder = new StringBuilder(parts[0]);
+    for (int i = 1; i < parts.length; i += 1) {
+      builder.append(Character.toUpperCase(parts[i].charAt(0))).append(parts[i].substring(1));
+    }
+    return builder.toString();
+  }
+}
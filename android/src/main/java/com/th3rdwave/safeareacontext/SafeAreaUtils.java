@@ -1,27 +1,30 @@
 package com.th3rdwave.safeareacontext;
 
-import android.app.Service;
+import android.content.ContentResolver;
 import android.content.Context;
 import android.content.res.Resources;
+import android.database.ContentObserver;
 import android.graphics.Rect;
 import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
 import android.provider.Settings;
-import android.util.DisplayMetrics;
 import android.util.Log;
-import android.view.Display;
 import android.view.DisplayCutout;
 import android.view.View;
 import android.view.ViewGroup;
 import android.view.Window;
 import android.view.WindowInsets;
-import android.view.WindowManager;
 
 import androidx.annotation.Nullable;
 import androidx.annotation.RequiresApi;
 
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /* package */ class SafeAreaUtils {
 
@@ -64,7 +67,10 @@ import java.lang.reflect.Method;
     return context.getPackageManager().hasSystemFeature("com.oppo.feature.screen.heteromorphism");
   }
 
-  private static int getCommonNotchHeight(Context context) {
+  /**
+   * Height of the status bar, also used as the notch height on some devices.
+   */
+  static int getCommonNotchHeight(Context context) {
     int resId = context.getResources().getIdentifier("status_bar_height", "dimen", "android");
     int statusBarHeight = -1;
     if (resId > 0) {
@@ -119,11 +125,8 @@ import java.lang.reflect.Method;
       return false;
     }
 
-    DisplayCutout displayCutout = windowInsets.getDisplayCutout();
-    if (displayCutout == null || displayCutout.getBoundingRects() == null) {
-      return false;
-    }
-    return true;
+    // getBoundingRects() allocates a new list on every call and is never null.
+    return windowInsets.getDisplayCutout() != null;
   }
 
   @RequiresApi(api = Build.VERSION_CODES.P)
@@ -135,7 +138,7 @@ import java.lang.reflect.Method;
     }
 
     DisplayCutout displayCutout = windowInsets.getDisplayCutout();
-    if (displayCutout == null || displayCutout.getBoundingRects() == null) {
+    if (displayCutout == null) {
       return 0;
     }
 
@@ -145,13 +148,17 @@ import java.lang.reflect.Method;
   }
 
   private static int getNotchHeight(View rootView) {
-    Context context = rootView.getContext();
     if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.P) {
       if (isNotchScreen(rootView)) {
         return getPNotchHeight(rootView);
       }
       return 0;
     }
+    SafeAreaStats.increment(SafeAreaStats.Counter.NOTCH_HEIGHT_FALLBACK);
+    return DeviceInsetsProfile.get(rootView).legacyNotchHeight;
+  }
+
+  static int getLegacyNotchHeight(Context context) {
     // 小米
     int resourceId = context.getResources().getIdentifier("notch_height", "dimen", "android");
     if (resourceId > 0) {
@@ -168,7 +175,7 @@ import java.lang.reflect.Method;
     return 0;
   }
 
-  private static int getNavigationHeight(Context context) {
+  static int getNavigationHeight(Context context) {
     if (context == null) {
       return 0;
     }
@@ -182,8 +189,9 @@ import java.lang.reflect.Method;
     return height;
   }
 
-  // 这里只判断NavigationBar高度为0时, 再次确认是否开启了手势导航或者隐藏了导航栏;
-  private static boolean isSoftNavigationBarShow(Context context, float topStatusBarHeight) {
+  private static final String NAVIGATION_BAR_SETTING_NAME = getNavigationBarSettingName();
+
+  private static String getNavigationBarSettingName() {
     String checkSettingName = "navigationbar_is_min";
     String brand = Build.BRAND;
     if (brand == null || brand.equals("")) {
@@ -203,16 +211,80 @@ import java.lang.reflect.Method;
         checkSettingName = "navigationbar_is_min";
       }
     }
+    return checkSettingName;
+  }
+
+  private static boolean usesSecureNavigationBarSetting() {
+    return "navigation_gesture_on".equals(NAVIGATION_BAR_SETTING_NAME) ||
+        "hide_navigationbar_enable".equals(NAVIGATION_BAR_SETTING_NAME);
+  }
+
+  // Cached value of the secure navigation bar setting packed with the version it was read at as
+  // (version << 32) | value. The version changes when the setting changes so the value is only
+  // read through the content resolver again after that.
+  private static volatile long sNavigationBarSetting = -1;
+  private static final AtomicInteger sNavigationBarSettingVersion = new AtomicInteger();
+  private static final AtomicBoolean sIsObservingNavigationBarSetting = new AtomicBoolean(false);
+
+  private static int getSecureNavigationBarSetting(Context context) {
+    int version = sNavigationBarSettingVersion.get();
+    long cached = sNavigationBarSetting;
+    if (cached != -1 && (int) (cached >>> 32) == version) {
+      return (int) cached;
+    }
+    ContentResolver contentResolver = context.getContentResolver();
+    if (sIsObservingNavigationBarSetting.compareAndSet(false, true)) {
+      contentResolver.registerContentObserver(
+          Settings.Secure.getUriFor(NAVIGATION_BAR_SETTING_NAME),
+          false,
+          new ContentObserver(new Handler(Looper.getMainLooper())) {
+            @Override
+            public void onChange(boolean selfChange) {
+              sNavigationBarSettingVersion.incrementAndGet();
+            }
+          });
+    }
+    int value = Settings.Secure.getInt(contentResolver, NAVIGATION_BAR_SETTING_NAME, 0);
+    sNavigationBarSetting = ((long) version << 32) | (value & 0xffffffffL);
+    return value;
+  }
+
+  /**
+   * Value of the navigation bar setting isSoftNavigationBarShow reads, or -1 if it doesn't read
+   * one on this device. Only used by InsetsTraceRecorder.
+   */
+  static int getNavigationBarSettingForTrace(Context context) {
+    if (Build.VERSION.SDK_INT < Build.VERSION_CODES.LOLLIPOP) {
+      return Settings.System.getInt(context.getContentResolver(), NAVIGATION_BAR_SETTING_NAME, 0);
+    }
+    return usesSecureNavigationBarSetting() ? getSecureNavigationBarSetting(context) : -1;
+  }
+
+  /**
+   * Reads the values that only depend on the context so they are cached before they are needed
+   * on the UI thread. Can be called from any thread.
+   */
+  static void warmUp(Context context) {
+    DeviceInsetsProfile.get(context);
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP && usesSecureNavigationBarSetting()) {
+      getSecureNavigationBarSetting(context);
+    }
+  }
+
+  // 这里只判断NavigationBar高度为0时, 再次确认是否开启了手势导航或者隐藏了导航栏;
+  private static boolean isSoftNavigationBarShow(View rootView, float topStatusBarHeight) {
+    Context context = rootView.getContext();
+    String checkSettingName = NAVIGATION_BAR_SETTING_NAME;
     int navigationBarIsMin = 0;
     if (Build.VERSION.SDK_INT < Build.VERSION_CODES.LOLLIPOP) {
       navigationBarIsMin = Settings.System.getInt(context.getContentResolver(), checkSettingName, 0);
     } else {
       // VIVO 或者 OPPO
-      if ("navigation_gesture_on".equals(checkSettingName) || "hide_navigationbar_enable".equals(checkSettingName)) {
-        navigationBarIsMin = Settings.Secure.getInt(context.getContentResolver(), checkSettingName, 0);
+      if (usesSecureNavigationBarSetting()) {
+        navigationBarIsMin = getSecureNavigationBarSetting(context);
       } else {
         try {
-          return isHasNavigationBar(context, topStatusBarHeight);
+          return isHasNavigationBar(rootView, topStatusBarHeight);
         } catch (Throwable e) {
           return false;
         }
@@ -221,57 +293,56 @@ import java.lang.reflect.Method;
     return navigationBarIsMin == 0;
   }
 
-  private static boolean isHasNavigationBar(Context context, float topStatusBarHeight) {
-    WindowManager windowManager = (WindowManager) context.getSystemService(Service.WINDOW_SERVICE);
-    Display d = windowManager.getDefaultDisplay();
-
-    DisplayMetrics realDisplayMetrics = new DisplayMetrics();
-    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1) {
-      d.getRealMetrics(realDisplayMetrics);
-    }
-    int realHeight = realDisplayMetrics.heightPixels;
-    int realWidth = realDisplayMetrics.widthPixels;
-
-    DisplayMetrics displayMetrics = new DisplayMetrics();
-    d.getMetrics(displayMetrics);
-    int displayHeight = displayMetrics.heightPixels;
-    int displayWidth = displayMetrics.widthPixels;
+  private static boolean isHasNavigationBar(View rootView, float topStatusBarHeight) {
+    DeviceInsetsProfile profile = DeviceInsetsProfile.get(rootView);
+    int realHeight = profile.realDisplayHeight;
+    int realWidth = profile.realDisplayWidth;
+    int displayHeight = profile.displayHeight;
+    int displayWidth = profile.displayWidth;
 
     // 部分无良厂商的手势操作，显示高度 + 导航栏高度，竟然大于物理高度，对于这种情况，直接默认未启用导航栏
-    if (displayHeight + getNavigationBarHeight(context) > realHeight) return false;
+    if (displayHeight + profile.navigationBarHeight > realHeight) return false;
 
     return realWidth - displayWidth > 0 || (realHeight - displayHeight > 0 && Math.abs(realHeight - displayHeight - topStatusBarHeight) > 0.01);
   }
 
-  private static int getNavigationBarHeight(Context context) {
-    int result = 0;
-    Resources resources = context.getResources();
-    int resourceId =
-      resources.getIdentifier("navigation_bar_height", "dimen", "android");
-    if (resourceId > 0) result = resources.getDimensionPixelSize(resourceId);
-    return result;
+  /**
+   * Estimates the insets and frame of a full screen window on the default display, used when no
+   * window is laid out yet. Only reads the cached device profile so it can run on any thread.
+   */
+  static void getEstimatedWindowMetrics(Context context, EdgeInsets outInsets, com.th3rdwave.safeareacontext.Rect outFrame) {
+    DeviceInsetsProfile profile = DeviceInsetsProfile.get(context);
+    // The part of the real display apps can't use is the navigation bar, at the bottom or on the
+    // side in landscape.
+    float right = Math.max(profile.realDisplayWidth - profile.displayWidth, 0);
+    float bottom = Math.max(profile.realDisplayHeight - profile.displayHeight, 0);
+    outInsets.set(
+      Math.max(profile.statusBarHeight, profile.legacyNotchHeight),
+      right,
+      bottom,
+      0);
+    outFrame.set(0, 0, profile.displayWidth, profile.displayHeight);
   }
 
-  private static @Nullable
-  EdgeInsets getRootWindowInsetsCompat(View rootView) {
-    Context context = rootView.getContext();
+  private static boolean getRootWindowInsetsCompat(View rootView, EdgeInsets outInsets, Rect tmpRect) {
     if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
       WindowInsets insets = rootView.getRootWindowInsets();
       if (insets == null) {
-        return null;
+        return false;
       }
       float top = insets.getSystemWindowInsetTop();
       if (top <= 0) {
         top = getNotchHeight(rootView);
       }
       float bottom = Math.min(insets.getSystemWindowInsetBottom(), insets.getStableInsetBottom());
-      if (bottom <= 0 && NavigationUtils.isAllScreenDevice(rootView.getContext())) {
-        if (isSoftNavigationBarShow(context, top)) {
-          int softNavigationBarBottom = getNavigationHeight(context);
+      if (bottom <= 0 && NavigationUtils.isAllScreenDevice(rootView)) {
+        SafeAreaStats.increment(SafeAreaStats.Counter.NAVIGATION_BAR_FALLBACK);
+        if (isSoftNavigationBarShow(rootView, top)) {
+          int softNavigationBarBottom = DeviceInsetsProfile.get(rootView).navigationBarHeight;
           bottom = softNavigationBarBottom > 0 ? softNavigationBarBottom : bottom;
         }
       }
-      return new EdgeInsets(
+      outInsets.set(
         top,
         insets.getSystemWindowInsetRight(),
         // System insets are more reliable to account for notches but the
@@ -282,61 +353,170 @@ import java.lang.reflect.Method;
         bottom,
         insets.getSystemWindowInsetLeft());
     } else {
-      Rect visibleRect = new Rect();
+      Rect visibleRect = tmpRect;
       rootView.getWindowVisibleDisplayFrame(visibleRect);
       float top = visibleRect.top;
       if (top <= 0) {
         top = getNotchHeight(rootView);
       }
       float bottom = rootView.getHeight() - visibleRect.bottom;
-      if (bottom <= 0 && NavigationUtils.isAllScreenDevice(rootView.getContext())) {
+      if (bottom <= 0 && NavigationUtils.isAllScreenDevice(rootView)) {
+        SafeAreaStats.increment(SafeAreaStats.Counter.NAVIGATION_BAR_FALLBACK);
         // 适当的加入一点bottom, 避免太沉底不好看
         bottom = (float) ((top + 0.0) / 2);
-        if (isSoftNavigationBarShow(context, top)) {
-          int softNavigationBarBottom = getNavigationHeight(context);
+        if (isSoftNavigationBarShow(rootView, top)) {
+          int softNavigationBarBottom = DeviceInsetsProfile.get(rootView).navigationBarHeight;
           bottom = softNavigationBarBottom > 0 ? softNavigationBarBottom : bottom;
         }
       }
-      return new EdgeInsets(
+      outInsets.set(
         top,
         rootView.getWidth() - visibleRect.right,
         bottom,
         visibleRect.left);
     }
+    return true;
+  }
+
+  // Root window insets of the last computation on the UI thread. They only depend on the root
+  // view so every provider and SafeAreaView computing insets in the same update pass reuses them.
+  // The entry is only reused within the pass it was computed in, see beginInsetsPass(), and is
+  // also keyed by the root view, its WindowInsets instance and size, the version of the navigation
+  // bar setting and, before Android 6, the visible display frame and system UI visibility the
+  // legacy path reads. The root view is weakly referenced so the cache doesn't leak the activity.
+  private static int sInsetsPassId = 0;
+  private static boolean sIsInInsetsPass = false;
+  private static @Nullable WeakReference<View> sCachedRootView;
+  private static @Nullable WindowInsets sCachedWindowInsets;
+  private static int sCachedRootWidth;
+  private static int sCachedRootHeight;
+  private static int sCachedInsetsPassId;
+  private static int sCachedNavigationBarSettingVersion;
+  private static int sCachedSystemUiVisibility;
+  private static final Rect sCachedVisibleFrame = new Rect();
+  private static final Rect sVisibleFrame = new Rect();
+  private static boolean sCachedHasInsets;
+  private static final EdgeInsets sCachedInsets = new EdgeInsets();
+
+  /**
+   * Starts an insets update pass on the UI thread, the root window insets are computed at most
+   * once per root view until {@link #endInsetsPass()}. Passes don't span frames.
+   */
+  static void beginInsetsPass() {
+    sInsetsPassId += 1;
+    sIsInInsetsPass = true;
+  }
+
+  static void endInsetsPass() {
+    sIsInInsetsPass = false;
+  }
+
+  private static boolean getCachedRootWindowInsets(View rootView, EdgeInsets outInsets, Rect tmpRect) {
+    if (!sIsInInsetsPass || Looper.myLooper() != Looper.getMainLooper()) {
+      return getRootWindowInsetsCompat(rootView, outInsets, tmpRect);
+    }
+    WindowInsets windowInsets = null;
+    int systemUiVisibility = 0;
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+      windowInsets = rootView.getRootWindowInsets();
+    } else {
+      rootView.getWindowVisibleDisplayFrame(sVisibleFrame);
+      systemUiVisibility = rootView.getWindowSystemUiVisibility();
+    }
+    int settingVersion = sNavigationBarSettingVersion.get();
+    if (sCachedInsetsPassId == sInsetsPassId &&
+        sCachedRootView != null && sCachedRootView.get() == rootView &&
+        sCachedWindowInsets == windowInsets &&
+        sCachedRootWidth == rootView.getWidth() &&
+        sCachedRootHeight == rootView.getHeight() &&
+        sCachedNavigationBarSettingVersion == settingVersion &&
+        sCachedSystemUiVisibility == systemUiVisibility &&
+        sCachedVisibleFrame.equals(sVisibleFrame)) {
+      SafeAreaStats.increment(SafeAreaStats.Counter.ROOT_INSETS_CACHE_HIT);
+      outInsets.set(sCachedInsets);
+      return sCachedHasInsets;
+    }
+    boolean hasInsets = getRootWindowInsetsCompat(rootView, outInsets, tmpRect);
+    if (sCachedRootView == null || sCachedRootView.get() != rootView) {
+      sCachedRootView = new WeakReference<>(rootView);
+    }
+    sCachedInsetsPassId = sInsetsPassId;
+    sCachedWindowInsets = windowInsets;
+    sCachedRootWidth = rootView.getWidth();
+    sCachedRootHeight = rootView.getHeight();
+    sCachedNavigationBarSettingVersion = settingVersion;
+    sCachedSystemUiVisibility = systemUiVisibility;
+    sCachedVisibleFrame.set(sVisibleFrame);
+    sCachedHasInsets = hasInsets;
+    sCachedInsets.set(outInsets);
+    return hasInsets;
   }
 
   static @Nullable
   EdgeInsets getSafeAreaInsets(View view) {
+    EdgeInsets insets = new EdgeInsets();
+    return getSafeAreaInsets(view, insets, new Rect()) ? insets : null;
+  }
+
+  /**
+   * Allocation free version of {@link #getSafeAreaInsets(View)} for code that runs every frame.
+   *
+   * @param outInsets receives the insets of the view.
+   * @param tmpRect scratch rect used during the computation.
+   * @return false if the insets are not available yet, outInsets is then left in an unspecified state.
+   */
+  static boolean getSafeAreaInsets(View view, EdgeInsets outInsets, Rect tmpRect) {
     // The view has not been layout yet.
     if (view.getHeight() == 0) {
-      return null;
+      return false;
     }
+    SafeAreaStats.increment(SafeAreaStats.Counter.GET_SAFE_AREA_INSETS);
+    long startTime = System.nanoTime();
     View rootView = view.getRootView();
-    EdgeInsets windowInsets = getRootWindowInsetsCompat(rootView);
-    if (windowInsets == null) {
-      return null;
+    boolean hasInsets = getCachedRootWindowInsets(rootView, outInsets, tmpRect);
+    if (hasInsets) {
+      computeViewInsets(view, rootView, outInsets, tmpRect);
+    }
+    SafeAreaStats.record(SafeAreaStats.Timer.GET_SAFE_AREA_INSETS, System.nanoTime() - startTime);
+    if (InsetsTraceRecorder.isRecording()) {
+      InsetsTraceRecorder.recordSafeAreaInsets(view, rootView, hasInsets, outInsets);
     }
+    return hasInsets;
+  }
+
+  private static void computeViewInsets(View view, View rootView, EdgeInsets outInsets, Rect tmpRect) {
 
     // Calculate the part of the view that overlaps with window insets.
     float windowWidth = rootView.getWidth();
     float windowHeight = rootView.getHeight();
-    Rect visibleRect = new Rect();
+    Rect visibleRect = tmpRect;
     view.getGlobalVisibleRect(visibleRect);
 
-    windowInsets.top = Math.max(windowInsets.top - visibleRect.top, 0);
-    windowInsets.left = Math.max(windowInsets.left - visibleRect.left, 0);
-    windowInsets.bottom = Math.max(Math.min(visibleRect.top + view.getHeight() - windowHeight, 0) + windowInsets.bottom, 0);
-    windowInsets.right = Math.max(Math.min(visibleRect.left + view.getWidth() - windowWidth, 0) + windowInsets.right, 0);
-    return windowInsets;
+    outInsets.top = Math.max(outInsets.top - visibleRect.top, 0);
+    outInsets.left = Math.max(outInsets.left - visibleRect.left, 0);
+    outInsets.bottom = Math.max(Math.min(visibleRect.top + view.getHeight() - windowHeight, 0) + outInsets.bottom, 0);
+    outInsets.right = Math.max(Math.min(visibleRect.left + view.getWidth() - windowWidth, 0) + outInsets.right, 0);
   }
 
   static @Nullable
   com.th3rdwave.safeareacontext.Rect getFrame(ViewGroup rootView, View view) {
+    com.th3rdwave.safeareacontext.Rect frame = new com.th3rdwave.safeareacontext.Rect();
+    return getFrame(rootView, view, frame, new Rect()) ? frame : null;
+  }
+
+  /**
+   * Allocation free version of {@link #getFrame(ViewGroup, View)} for code that runs every frame.
+   *
+   * @param outFrame receives the frame of the view.
+   * @param tmpRect scratch rect used during the computation.
+   * @return false if the frame is not available.
+   */
+  static boolean getFrame(ViewGroup rootView, View view, com.th3rdwave.safeareacontext.Rect outFrame, Rect tmpRect) {
     // This can happen while the view gets unmounted.
     if (view.getParent() == null) {
-      return null;
+      return false;
     }
-    Rect offset = new Rect();
+    Rect offset = tmpRect;
     view.getDrawingRect(offset);
     try {
       rootView.offsetDescendantRectToMyCoords(view, offset);
@@ -344,9 +524,13 @@ import java.lang.reflect.Method;
       // This can throw if the view is not a descendant of rootView. This should not
       // happen but avoid potential crashes.
       ex.printStackTrace();
-      return null;
+      return false;
     }
 
-    return new com.th3rdwave.safeareacontext.Rect(offset.left, offset.top, view.getWidth(), view.getHeight());
+    outFrame.set(offset.left, offset.top, view.getWidth(), view.getHeight());
+    if (InsetsTraceRecorder.isRecording()) {
+      InsetsTraceRecorder.recordFrame(rootView, view, outFrame);
+    }
+    return true;
   }
 }
@@ -12,7 +12,6 @@ import com.facebook.react.bridge.ReactContext;
 import com.facebook.react.uimanager.UIManagerModule;
 import com.facebook.react.views.view.ReactViewGroup;
 
-import java.util.EnumSet;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import androidx.annotation.Nullable;
@@ -20,9 +19,21 @@ import androidx.annotation.Nullable;
 @SuppressLint("ViewConstructor")
 public class SafeAreaView extends ReactViewGroup implements ViewTreeObserver.OnPreDrawListener {
   private SafeAreaViewMode mMode = SafeAreaViewMode.PADDING;
+  private SafeAreaViewLayoutSync mLayoutSync = SafeAreaViewLayoutSync.BLOCKING;
   private @Nullable EdgeInsets mInsets;
-  private @Nullable EnumSet<SafeAreaViewEdges> mEdges;
+  private int mEdges = SafeAreaViewEdges.ALL;
+  private @Nullable SafeAreaViewLocalData mLastLocalData;
   private @Nullable View mProviderView;
+  private boolean mIsWaitingForLayout = false;
+  private long mWaitForLayoutStartTime = 0L;
+  private int mLayoutRequestId = 0;
+  private int mDispatcherIndex = -1;
+  private boolean mConsumeInsets = false;
+  // Nested SafeAreaViews get their insets from us instead of the provider.
+  private final InsetsDispatcher mChildDispatcher = new InsetsDispatcher();
+  private final EdgeInsets mRemainingInsets = new EdgeInsets();
+  private final EdgeInsets mTmpInsets = new EdgeInsets();
+  private final android.graphics.Rect mTmpRect = new android.graphics.Rect();
 
   public SafeAreaView(Context context) {
     super(context);
@@ -41,17 +52,23 @@ public class SafeAreaView extends ReactViewGroup implements ViewTreeObserver.OnP
 
   private void updateInsets() {
     if (mInsets != null) {
-      EnumSet<SafeAreaViewEdges> edges = mEdges != null
-              ? mEdges
-              : EnumSet.allOf(SafeAreaViewEdges.class);
-
-      SafeAreaViewLocalData localData = new SafeAreaViewLocalData(mInsets, mMode, edges);
+      SafeAreaViewLocalData localData = SafeAreaViewLocalData.obtain(mInsets, mMode, mEdges);
+      if (localData == mLastLocalData) {
+        // The shadow node already has these values.
+        return;
+      }
+      mLastLocalData = localData;
 
       ReactContext reactContext = getReactContext(this);
       UIManagerModule uiManager = reactContext.getNativeModule(UIManagerModule.class);
       if (uiManager != null) {
+        SafeAreaStats.increment(SafeAreaStats.Counter.SET_VIEW_LOCAL_DATA);
         uiManager.setViewLocalData(getId(), localData);
-        waitForReactLayout();
+        if (mLayoutSync == SafeAreaViewLayoutSync.BLOCKING) {
+          waitForReactLayout();
+        } else if (mLayoutSync == SafeAreaViewLayoutSync.DEFERRED) {
+          deferDrawUntilReactLayout();
+        }
       }
     }
   }
@@ -89,39 +106,180 @@ public class SafeAreaView extends ReactViewGroup implements ViewTreeObserver.OnP
       }
       // Timed out waiting.
       if (waitTime >= MAX_WAIT_TIME_NANO) {
+        SafeAreaStats.increment(SafeAreaStats.Counter.WAIT_FOR_LAYOUT_TIMEOUT);
         Log.w("SafeAreaView", "Timed out waiting for layout.");
       }
     }
+    SafeAreaStats.increment(SafeAreaStats.Counter.WAIT_FOR_LAYOUT);
+    SafeAreaStats.record(SafeAreaStats.Timer.WAIT_FOR_LAYOUT, System.nanoTime() - startTime);
+  }
+
+  private void deferDrawUntilReactLayout() {
+    // Instead of blocking the main thread we keep drawing the previous frame
+    // until the native module thread has processed the new local data. The layout
+    // batch it produces is dispatched to the main thread before the runnable
+    // posted back below so the next drawn frame already contains the new layout.
+    final int requestId = ++mLayoutRequestId;
+    final ReactContext reactContext = getReactContext(this);
+    if (!mIsWaitingForLayout) {
+      mIsWaitingForLayout = true;
+      mWaitForLayoutStartTime = System.nanoTime();
+      getViewTreeObserver().addOnPreDrawListener(mDeferredDrawListener);
+    }
+    reactContext.runOnNativeModulesQueueThread(new Runnable() {
+      @Override
+      public void run() {
+        reactContext.runOnUiQueueThread(new Runnable() {
+          @Override
+          public void run() {
+            if (requestId == mLayoutRequestId) {
+              stopDeferringDraw();
+              invalidate();
+            }
+          }
+        });
+      }
+    });
+  }
+
+  private void stopDeferringDraw() {
+    if (mIsWaitingForLayout) {
+      mIsWaitingForLayout = false;
+      getViewTreeObserver().removeOnPreDrawListener(mDeferredDrawListener);
+    }
   }
 
+  private final ViewTreeObserver.OnPreDrawListener mDeferredDrawListener = new ViewTreeObserver.OnPreDrawListener() {
+    @Override
+    public boolean onPreDraw() {
+      if (System.nanoTime() - mWaitForLayoutStartTime >= MAX_WAIT_TIME_NANO) {
+        SafeAreaStats.increment(SafeAreaStats.Counter.WAIT_FOR_LAYOUT_TIMEOUT);
+        Log.w("SafeAreaView", "Timed out waiting for layout.");
+        stopDeferringDraw();
+      }
+      return !mIsWaitingForLayout;
+    }
+  };
+
   public void setMode(SafeAreaViewMode mode) {
     mMode = mode;
     updateInsets();
   }
 
-  public void setEdges(EnumSet<SafeAreaViewEdges> edges) {
+  public void setLayoutSync(SafeAreaViewLayoutSync layoutSync) {
+    mLayoutSync = layoutSync;
+    if (layoutSync != SafeAreaViewLayoutSync.DEFERRED) {
+      stopDeferringDraw();
+    }
+  }
+
+  /**
+   * @param edges bitmask of SafeAreaViewEdges flags.
+   */
+  public void setEdges(int edges) {
     mEdges = edges;
     updateInsets();
+    dispatchRemainingInsets();
   }
 
-  private boolean maybeUpdateInsets() {
-    if (mProviderView == null) {
+  /**
+   * When enabled the edges this view applies are consumed, nested SafeAreaViews only get the
+   * remaining insets.
+   */
+  public void setConsumeInsets(boolean consumeInsets) {
+    mConsumeInsets = consumeInsets;
+    dispatchRemainingInsets();
+  }
+
+  /**
+   * @return true if this view or a nested SafeAreaView needs to layout with the new insets.
+   */
+  /* package */ boolean onInsetsChange(EdgeInsets insets) {
+    if (mInsets != null && mInsets.equalsToEdgeInsets(insets)) {
       return false;
     }
-    EdgeInsets edgeInsets = SafeAreaUtils.getSafeAreaInsets(mProviderView);
-    if (edgeInsets != null && (mInsets == null || !mInsets.equalsToEdgeInsets(edgeInsets))) {
-      mInsets = edgeInsets;
+    // Changes to edges this view doesn't apply only matter to nested SafeAreaViews.
+    boolean didChangeAppliedEdges = mInsets == null || !equalsOnAppliedEdges(mInsets, insets);
+    if (mInsets == null) {
+      mInsets = new EdgeInsets(insets);
+    } else {
+      mInsets.set(insets);
+    }
+    if (didChangeAppliedEdges) {
       updateInsets();
-      return true;
+      requestLayout();
+    }
+    boolean didUpdateChildren = dispatchRemainingInsets();
+    return didChangeAppliedEdges || didUpdateChildren;
+  }
+
+  private boolean equalsOnAppliedEdges(EdgeInsets a, EdgeInsets b) {
+    int edges = mEdges;
+    return (a.top == b.top || (edges & SafeAreaViewEdges.FLAG_TOP) == 0) &&
+        (a.right == b.right || (edges & SafeAreaViewEdges.FLAG_RIGHT) == 0) &&
+        (a.bottom == b.bottom || (edges & SafeAreaViewEdges.FLAG_BOTTOM) == 0) &&
+        (a.left == b.left || (edges & SafeAreaViewEdges.FLAG_LEFT) == 0);
+  }
+
+  private boolean dispatchRemainingInsets() {
+    if (mInsets == null) {
+      return false;
+    }
+    mRemainingInsets.set(mInsets);
+    if (mConsumeInsets) {
+      if ((mEdges & SafeAreaViewEdges.FLAG_TOP) != 0) {
+        mRemainingInsets.top = 0;
+      }
+      if ((mEdges & SafeAreaViewEdges.FLAG_RIGHT) != 0) {
+        mRemainingInsets.right = 0;
+      }
+      if ((mEdges & SafeAreaViewEdges.FLAG_BOTTOM) != 0) {
+        mRemainingInsets.bottom = 0;
+      }
+      if ((mEdges & SafeAreaViewEdges.FLAG_LEFT) != 0) {
+        mRemainingInsets.left = 0;
+      }
+    }
+    return mChildDispatcher.dispatch(mRemainingInsets);
+  }
+
+  /* package */ void addSafeAreaView(SafeAreaView view) {
+    mChildDispatcher.add(view);
+  }
+
+  /* package */ void removeSafeAreaView(SafeAreaView view) {
+    mChildDispatcher.remove(view);
+  }
+
+  /* package */ int getDispatcherIndex() {
+    return mDispatcherIndex;
+  }
+
+  /* package */ void setDispatcherIndex(int index) {
+    mDispatcherIndex = index;
+  }
+
+  private boolean maybeUpdateInsets() {
+    if (mProviderView == null) {
+      return false;
     }
-    return false;
+    return SafeAreaUtils.getSafeAreaInsets(mProviderView, mTmpInsets, mTmpRect) && onInsetsChange(mTmpInsets);
   }
 
+  /**
+   * Finds the ancestor that forwards the insets to us. That is the closest SafeAreaView ancestor
+   * if there is a SafeAreaProvider above it, or else the SafeAreaProvider. Without a provider we
+   * compute our own insets from our position, like SafeAreaView ancestors do.
+   */
   private View findProvider() {
+    View closestSafeAreaView = null;
     ViewParent current = getParent();
     while (current != null) {
       if (current instanceof SafeAreaProvider) {
-        return (View) current;
+        return closestSafeAreaView != null ? closestSafeAreaView : (View) current;
+      }
+      if (closestSafeAreaView == null && current instanceof SafeAreaView) {
+        closestSafeAreaView = (View) current;
       }
       current = current.getParent();
     }
@@ -134,26 +292,38 @@ public class SafeAreaView extends ReactViewGroup implements ViewTreeObserver.OnP
 
     mProviderView = findProvider();
 
-    mProviderView.getViewTreeObserver().addOnPreDrawListener(this);
-    maybeUpdateInsets();
+    if (mProviderView == this) {
+      mProviderView.getViewTreeObserver().addOnPreDrawListener(this);
+      maybeUpdateInsets();
+    } else if (mProviderView instanceof SafeAreaProvider) {
+      // The provider computes the insets once per frame and forwards them to us.
+      ((SafeAreaProvider) mProviderView).addSafeAreaView(this);
+    } else {
+      ((SafeAreaView) mProviderView).addSafeAreaView(this);
+    }
   }
 
   @Override
   protected void onDetachedFromWindow() {
     super.onDetachedFromWindow();
 
-    if (mProviderView != null) {
+    if (mProviderView == this) {
       mProviderView.getViewTreeObserver().removeOnPreDrawListener(this);
+    } else if (mProviderView instanceof SafeAreaProvider) {
+      ((SafeAreaProvider) mProviderView).removeSafeAreaView(this);
+    } else if (mProviderView instanceof SafeAreaView) {
+      ((SafeAreaView) mProviderView).removeSafeAreaView(this);
     }
     mProviderView = null;
+    stopDeferringDraw();
   }
 
   @Override
   public boolean onPreDraw() {
+    SafeAreaStats.increment(SafeAreaStats.Counter.PRE_DRAW);
+    long startTime = System.nanoTime();
     boolean didUpdate = maybeUpdateInsets();
-    if (didUpdate) {
-      requestLayout();
-    }
+    SafeAreaStats.record(SafeAreaStats.Timer.PRE_DRAW, System.nanoTime() - startTime);
     return !didUpdate;
   }
 }
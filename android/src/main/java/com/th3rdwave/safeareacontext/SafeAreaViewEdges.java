@@ -1,8 +1,35 @@
 package com.th3rdwave.safeareacontext;
 
+import java.util.EnumSet;
+
 public enum SafeAreaViewEdges {
   TOP,
   RIGHT,
   BOTTOM,
-  LEFT
+  LEFT;
+
+  // Edges are passed around as a bitmask of these flags so no EnumSet has to be allocated.
+  static final int FLAG_TOP = 1;
+  static final int FLAG_RIGHT = 1 << 1;
+  static final int FLAG_BOTTOM = 1 << 2;
+  static final int FLAG_LEFT = 1 << 3;
+  static final int ALL = FLAG_TOP | FLAG_RIGHT | FLAG_BOTTOM | FLAG_LEFT;
+
+  static int toFlags(EnumSet<SafeAreaViewEdges> edges) {
+    int flags = 0;
+    for (SafeAreaViewEdges edge : edges) {
+      flags |= 1 << edge.ordinal();
+    }
+    return flags;
+  }
+
+  static EnumSet<SafeAreaViewEdges> fromFlags(int flags) {
+    EnumSet<SafeAreaViewEdges> edges = EnumSet.noneOf(SafeAreaViewEdges.class);
+    for (SafeAreaViewEdges edge : values()) {
+      if ((flags & (1 << edge.ordinal())) != 0) {
+        edges.add(edge);
+      }
+    }
+    return edges;
+  }
 }
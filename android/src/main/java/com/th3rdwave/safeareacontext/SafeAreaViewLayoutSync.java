@@ -0,0 +1,7 @@
+package com.th3rdwave.safeareacontext;
+
+public enum SafeAreaViewLayoutSync {
+  BLOCKING,
+  DEFERRED,
+  NONE
+}
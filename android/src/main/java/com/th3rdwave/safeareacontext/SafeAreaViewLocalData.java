@@ -2,26 +2,107 @@ package com.th3rdwave.safeareacontext;
 
 import java.util.EnumSet;
 
-public class SafeAreaViewLocalData {
-  private EdgeInsets mInsets;
-  private SafeAreaViewMode mMode;
-  private EnumSet<SafeAreaViewEdges> mEdges;
+/**
+ * Immutable, instances are interned by {@link #obtain} so identical updates share the same
+ * instance and can be compared by reference.
+ */
+public final class SafeAreaViewLocalData {
+  private static final int CACHE_SIZE = 16;
+  private static final SafeAreaViewLocalData[] sCache = new SafeAreaViewLocalData[CACHE_SIZE];
+  private static int sNextCacheIndex = 0;
 
-  public SafeAreaViewLocalData(EdgeInsets insets, SafeAreaViewMode mode, EnumSet<SafeAreaViewEdges> edges) {
-    mInsets = insets;
+  private final float mTop;
+  private final float mRight;
+  private final float mBottom;
+  private final float mLeft;
+  private final SafeAreaViewMode mMode;
+  private final int mEdges;
+
+  private SafeAreaViewLocalData(EdgeInsets insets, SafeAreaViewMode mode, int edges) {
+    mTop = insets.top;
+    mRight = insets.right;
+    mBottom = insets.bottom;
+    mLeft = insets.left;
     mMode = mode;
     mEdges = edges;
   }
 
+  /**
+   * @deprecated Use {@link #obtain}, instances created here are not interned so the view sends
+   * them again even when the values did not change.
+   */
+  @Deprecated
+  public SafeAreaViewLocalData(EdgeInsets insets, SafeAreaViewMode mode, EnumSet<SafeAreaViewEdges> edges) {
+    this(insets, mode, SafeAreaViewEdges.toFlags(edges));
+  }
+
+  /**
+   * Returns the cached instance for these values or creates one, the least recently created
+   * instance is evicted when the cache is full.
+   *
+   * @param edges bitmask of SafeAreaViewEdges flags.
+   */
+  public static SafeAreaViewLocalData obtain(EdgeInsets insets, SafeAreaViewMode mode, int edges) {
+    synchronized (sCache) {
+      for (int i = 0; i < CACHE_SIZE; i += 1) {
+        SafeAreaViewLocalData data = sCache[i];
+        if (data != null && data.matches(insets, mode, edges)) {
+          return data;
+        }
+      }
+      SafeAreaViewLocalData data = new SafeAreaViewLocalData(insets, mode, edges);
+      sCache[sNextCacheIndex] = data;
+      sNextCacheIndex = (sNextCacheIndex + 1) % CACHE_SIZE;
+      return data;
+    }
+  }
+
+  private boolean matches(EdgeInsets insets, SafeAreaViewMode mode, int edges) {
+    return mTop == insets.top &&
+        mRight == insets.right &&
+        mBottom == insets.bottom &&
+        mLeft == insets.left &&
+        mMode == mode &&
+        mEdges == edges;
+  }
+
+  /**
+   * @deprecated Allocates, use {@link #getTop}, {@link #getRight}, {@link #getBottom} and
+   * {@link #getLeft}.
+   */
+  @Deprecated
   public EdgeInsets getInsets() {
-    return mInsets;
+    return new EdgeInsets(mTop, mRight, mBottom, mLeft);
+  }
+
+  public float getTop() {
+    return mTop;
+  }
+
+  public float getRight() {
+    return mRight;
+  }
+
+  public float getBottom() {
+    return mBottom;
+  }
+
+  public float getLeft() {
+    return mLeft;
   }
 
   public SafeAreaViewMode getMode() {
     return mMode;
   }
 
-  public  EnumSet<SafeAreaViewEdges> getEdges() {
+  public EnumSet<SafeAreaViewEdges> getEdges() {
+    return SafeAreaViewEdges.fromFlags(mEdges);
+  }
+
+  /**
+   * @return bitmask of SafeAreaViewEdges flags.
+   */
+  /* package */ int getEdgeFlags() {
     return mEdges;
   }
 }
@@ -9,8 +9,6 @@ import com.facebook.react.uimanager.ThemedReactContext;
 import com.facebook.react.uimanager.annotations.ReactProp;
 import com.facebook.react.views.view.ReactViewManager;
 
-import java.util.EnumSet;
-
 public class SafeAreaViewManager extends ReactViewManager {
   public SafeAreaViewManager() {
     super();
@@ -48,21 +46,37 @@ public class SafeAreaViewManager extends ReactViewManager {
     }
   }
 
+  @ReactProp(name = "layoutSync")
+  public void setLayoutSync(SafeAreaView view, @Nullable String layoutSync) {
+    if ("deferred".equals(layoutSync)) {
+      view.setLayoutSync(SafeAreaViewLayoutSync.DEFERRED);
+    } else if ("none".equals(layoutSync)) {
+      view.setLayoutSync(SafeAreaViewLayoutSync.NONE);
+    } else {
+      view.setLayoutSync(SafeAreaViewLayoutSync.BLOCKING);
+    }
+  }
+
+  @ReactProp(name = "consumeInsets")
+  public void setConsumeInsets(SafeAreaView view, boolean consumeInsets) {
+    view.setConsumeInsets(consumeInsets);
+  }
+
   @ReactProp(name = "edges")
   public void setEdges(SafeAreaView view, @Nullable ReadableArray propList) {
-    EnumSet<SafeAreaViewEdges> edges = EnumSet.noneOf(SafeAreaViewEdges.class);
+    int edges = 0;
 
     if (propList != null) {
       for (int i = 0; i < propList.size(); i += 1) {
         String edgeName = propList.getString(i);
         if ("top".equals(edgeName)) {
-          edges.add(SafeAreaViewEdges.TOP);
+          edges |= SafeAreaViewEdges.FLAG_TOP;
         } else if ("right".equals(edgeName)) {
-          edges.add(SafeAreaViewEdges.RIGHT);
+          edges |= SafeAreaViewEdges.FLAG_RIGHT;
         } else if ("bottom".equals(edgeName)) {
-          edges.add(SafeAreaViewEdges.BOTTOM);
+          edges |= SafeAreaViewEdges.FLAG_BOTTOM;
         } else if ("left".equals(edgeName)) {
-          edges.add(SafeAreaViewEdges.LEFT);
+          edges |= SafeAreaViewEdges.FLAG_LEFT;
         }
       }
     }
@@ -9,8 +9,6 @@ import com.facebook.react.uimanager.Spacing;
 import com.facebook.react.uimanager.ViewProps;
 import com.facebook.react.uimanager.annotations.ReactPropGroup;
 
-import java.util.EnumSet;
-
 import androidx.annotation.Nullable;
 
 public class SafeAreaViewShadowNode extends LayoutShadowNode {
@@ -18,6 +16,8 @@ public class SafeAreaViewShadowNode extends LayoutShadowNode {
 
   private float[] mPaddings;
   private float[] mMargins;
+  // Last spacing written to Yoga by updateInsets, indexed by spacing type.
+  private float[] mAppliedSpacing;
   private boolean mNeedsUpdate = false;
 
   public SafeAreaViewShadowNode() {
@@ -25,11 +25,35 @@ public class SafeAreaViewShadowNode extends LayoutShadowNode {
 
     mPaddings = new float[ViewProps.PADDING_MARGIN_SPACING_TYPES.length];
     mMargins = new float[ViewProps.PADDING_MARGIN_SPACING_TYPES.length];
+    mAppliedSpacing = new float[ViewProps.PADDING_MARGIN_SPACING_TYPES.length];
 
     for (int i = 0; i < ViewProps.PADDING_MARGIN_SPACING_TYPES.length; i += 1) {
       mPaddings[i] = Float.NaN;
       mMargins[i] = Float.NaN;
     }
+    invalidateAppliedSpacing();
+  }
+
+  private void invalidateAppliedSpacing() {
+    for (int i = 0; i < mAppliedSpacing.length; i += 1) {
+      mAppliedSpacing[i] = Float.NaN;
+    }
+  }
+
+  /**
+   * Writes the spacing to Yoga only if it is different from the last value written, setting
+   * the same value would still mark the node dirty and cause a layout pass of the subtree.
+   */
+  private void applySpacing(SafeAreaViewMode mode, int spacingType, float value) {
+    if (mAppliedSpacing[spacingType] == value) {
+      return;
+    }
+    mAppliedSpacing[spacingType] = value;
+    if (mode == SafeAreaViewMode.PADDING) {
+      super.setPadding(spacingType, value);
+    } else {
+      super.setMargin(spacingType, value);
+    }
   }
 
   private void updateInsets() {
@@ -89,27 +113,21 @@ public class SafeAreaViewShadowNode extends LayoutShadowNode {
     bottom = PixelUtil.toPixelFromDIP(bottom);
     left = PixelUtil.toPixelFromDIP(left);
 
-    EnumSet<SafeAreaViewEdges> edges = mLocalData.getEdges();
-    EdgeInsets insets = mLocalData.getInsets();
-    float insetTop = edges.contains(SafeAreaViewEdges.TOP) ? insets.top : 0;
-    float insetRight = edges.contains(SafeAreaViewEdges.RIGHT) ? insets.right : 0;
-    float insetBottom = edges.contains(SafeAreaViewEdges.BOTTOM) ? insets.bottom : 0;
-    float insetLeft = edges.contains(SafeAreaViewEdges.LEFT) ? insets.left : 0;
-
-    if (mLocalData.getMode() == SafeAreaViewMode.PADDING) {
-      super.setPadding(Spacing.TOP, insetTop + top);
-      super.setPadding(Spacing.RIGHT, insetRight + right);
-      super.setPadding(Spacing.BOTTOM, insetBottom + bottom);
-      super.setPadding(Spacing.LEFT, insetLeft + left);
-    } else {
-      super.setMargin(Spacing.TOP, insetTop + top);
-      super.setMargin(Spacing.RIGHT, insetRight + right);
-      super.setMargin(Spacing.BOTTOM, insetBottom + bottom);
-      super.setMargin(Spacing.LEFT, insetLeft + left);
-    }
+    int edges = mLocalData.getEdgeFlags();
+    float insetTop = (edges & SafeAreaViewEdges.FLAG_TOP) != 0 ? mLocalData.getTop() : 0;
+    float insetRight = (edges & SafeAreaViewEdges.FLAG_RIGHT) != 0 ? mLocalData.getRight() : 0;
+    float insetBottom = (edges & SafeAreaViewEdges.FLAG_BOTTOM) != 0 ? mLocalData.getBottom() : 0;
+    float insetLeft = (edges & SafeAreaViewEdges.FLAG_LEFT) != 0 ? mLocalData.getLeft() : 0;
+
+    SafeAreaViewMode mode = mLocalData.getMode();
+    applySpacing(mode, Spacing.TOP, insetTop + top);
+    applySpacing(mode, Spacing.RIGHT, insetRight + right);
+    applySpacing(mode, Spacing.BOTTOM, insetBottom + bottom);
+    applySpacing(mode, Spacing.LEFT, insetLeft + left);
   }
 
   private void resetInsets(SafeAreaViewMode mode) {
+    invalidateAppliedSpacing();
     if (mode == SafeAreaViewMode.PADDING) {
       super.setPadding(Spacing.TOP, mPaddings[Spacing.TOP]);
       super.setPadding(Spacing.RIGHT, mPaddings[Spacing.TOP]);
@@ -147,6 +165,10 @@ public class SafeAreaViewShadowNode extends LayoutShadowNode {
     }
 
     SafeAreaViewLocalData localData = (SafeAreaViewLocalData) data;
+    // Local data is interned so the same values are the same instance.
+    if (localData == mLocalData) {
+      return;
+    }
 
     if (mLocalData != null && mLocalData.getMode() != localData.getMode()) {
       resetInsets(mLocalData.getMode());
@@ -174,8 +196,14 @@ public class SafeAreaViewShadowNode extends LayoutShadowNode {
     })
   public void setPaddings(int index, Dynamic padding) {
     int spacingType = ViewProps.PADDING_MARGIN_SPACING_TYPES[index];
-    mPaddings[spacingType] = padding.getType() == ReadableType.Number ? (float) padding.asDouble() : Float.NaN;
+    float value = padding.getType() == ReadableType.Number ? (float) padding.asDouble() : Float.NaN;
+    if (!Float.isNaN(value) && value == mPaddings[spacingType]) {
+      return;
+    }
+    mPaddings[spacingType] = value;
     super.setPaddings(index, padding);
+    // The super call wrote the value to Yoga so the spacing needs to be applied again.
+    invalidateAppliedSpacing();
     mNeedsUpdate = true;
   }
 
@@ -194,8 +222,14 @@ public class SafeAreaViewShadowNode extends LayoutShadowNode {
     })
   public void setMargins(int index, Dynamic margin) {
     int spacingType = ViewProps.PADDING_MARGIN_SPACING_TYPES[index];
-    mMargins[spacingType] = margin.getType() == ReadableType.Number ? (float) margin.asDouble() : Float.NaN;
+    float value = margin.getType() == ReadableType.Number ? (float) margin.asDouble() : Float.NaN;
+    if (!Float.isNaN(value) && value == mMargins[spacingType]) {
+      return;
+    }
+    mMargins[spacingType] = value;
     super.setMargins(index, margin);
+    // The super call wrote the value to Yoga so the spacing needs to be applied again.
+    invalidateAppliedSpacing();
     mNeedsUpdate = true;
   }
 }
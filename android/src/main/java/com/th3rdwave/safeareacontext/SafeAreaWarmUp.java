@@ -0,0 +1,36 @@
+package com.th3rdwave.safeareacontext;
+
+import android.content.Context;
+import android.os.Process;
+import android.util.Log;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Computes the device values used by the insets code on a background thread when the package is
+ * created, so the first provider attach doesn't pay for resource lookups, vendor probes and
+ * settings reads on the UI thread.
+ */
+/* package */ class SafeAreaWarmUp {
+  private static final AtomicBoolean sStarted = new AtomicBoolean(false);
+
+  static void start(Context context) {
+    if (!sStarted.compareAndSet(false, true)) {
+      return;
+    }
+    final Context appContext = context.getApplicationContext();
+    Thread thread = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+        try {
+          SafeAreaUtils.warmUp(appContext);
+        } catch (Throwable e) {
+          // Values are computed again on the UI thread when needed.
+          Log.w("SafeAreaWarmUp", "Failed to warm up device metrics.", e);
+        }
+      }
+    }, "SafeAreaWarmUp");
+    thread.start();
+  }
+}
@@ -1,6 +1,7 @@
 package com.th3rdwave.safeareacontext;
 
 import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.common.MapBuilder;
 import com.facebook.react.uimanager.PixelUtil;
@@ -17,6 +18,26 @@ import java.util.Map;
     return insetsMap;
   }
 
+  /**
+   * Only serializes the insets fields that are set in the InsetsChangeEvent fields mask.
+   */
+  static WritableMap edgeInsetsToJsMap(EdgeInsets insets, int fields) {
+    WritableMap insetsMap = Arguments.createMap();
+    if ((fields & InsetsChangeEvent.FIELD_TOP) != 0) {
+      insetsMap.putDouble("top", PixelUtil.toDIPFromPixel(insets.top));
+    }
+    if ((fields & InsetsChangeEvent.FIELD_RIGHT) != 0) {
+      insetsMap.putDouble("right", PixelUtil.toDIPFromPixel(insets.right));
+    }
+    if ((fields & InsetsChangeEvent.FIELD_BOTTOM) != 0) {
+      insetsMap.putDouble("bottom", PixelUtil.toDIPFromPixel(insets.bottom));
+    }
+    if ((fields & InsetsChangeEvent.FIELD_LEFT) != 0) {
+      insetsMap.putDouble("left", PixelUtil.toDIPFromPixel(insets.left));
+    }
+    return insetsMap;
+  }
+
   static Map<String, Float> edgeInsetsToJavaMap(EdgeInsets insets) {
     return MapBuilder.of(
         "top",
@@ -38,6 +59,44 @@ import java.util.Map;
     return rectMap;
   }
 
+  /**
+   * Only serializes the frame fields that are set in the InsetsChangeEvent fields mask.
+   */
+  static WritableMap rectToJsMap(Rect rect, int fields) {
+    WritableMap rectMap = Arguments.createMap();
+    if ((fields & InsetsChangeEvent.FIELD_X) != 0) {
+      rectMap.putDouble("x", PixelUtil.toDIPFromPixel(rect.x));
+    }
+    if ((fields & InsetsChangeEvent.FIELD_Y) != 0) {
+      rectMap.putDouble("y", PixelUtil.toDIPFromPixel(rect.y));
+    }
+    if ((fields & InsetsChangeEvent.FIELD_WIDTH) != 0) {
+      rectMap.putDouble("width", PixelUtil.toDIPFromPixel(rect.width));
+    }
+    if ((fields & InsetsChangeEvent.FIELD_HEIGHT) != 0) {
+      rectMap.putDouble("height", PixelUtil.toDIPFromPixel(rect.height));
+    }
+    return rectMap;
+  }
+
+  /**
+   * Serializes the insets and frame in DIP to a single array in the order top, right, bottom,
+   * left, x, y, width, height. Needs one array instead of two maps, the values are converted the
+   * same way as the other formats so they match exactly.
+   */
+  static WritableArray metricsToJsArray(EdgeInsets insets, Rect frame) {
+    WritableArray array = Arguments.createArray();
+    array.pushDouble(PixelUtil.toDIPFromPixel(insets.top));
+    array.pushDouble(PixelUtil.toDIPFromPixel(insets.right));
+    array.pushDouble(PixelUtil.toDIPFromPixel(insets.bottom));
+    array.pushDouble(PixelUtil.toDIPFromPixel(insets.left));
+    array.pushDouble(PixelUtil.toDIPFromPixel(frame.x));
+    array.pushDouble(PixelUtil.toDIPFromPixel(frame.y));
+    array.pushDouble(PixelUtil.toDIPFromPixel(frame.width));
+    array.pushDouble(PixelUtil.toDIPFromPixel(frame.height));
+    return array;
+  }
+
   static Map<String, Float> rectToJavaMap(Rect rect) {
     return MapBuilder.of(
         "x",
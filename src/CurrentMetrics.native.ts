@@ -0,0 +1,33 @@
+import { NativeModules } from 'react-native';
+import { Metrics } from './SafeArea.types';
+
+const RNCSafeAreaMetrics = NativeModules.RNCSafeAreaMetrics;
+
+function canCallSync(): boolean {
+  // Synchronous native calls are not available when debugging remotely.
+  return (
+    RNCSafeAreaMetrics != null && (global as any).nativeCallSyncHook != null
+  );
+}
+
+/**
+ * Returns the latest insets and frame of the root window known to native, or
+ * null if they are not available synchronously.
+ */
+export function getCurrentWindowMetrics(): Metrics | null {
+  if (!canCallSync()) {
+    return null;
+  }
+  return RNCSafeAreaMetrics.getWindowMetrics();
+}
+
+/**
+ * Returns the latest insets and frame of the mounted provider with the given
+ * react tag, or null if they are not available synchronously.
+ */
+export function getCurrentProviderMetrics(reactTag: number): Metrics | null {
+  if (!canCallSync()) {
+    return null;
+  }
+  return RNCSafeAreaMetrics.getProviderMetrics(reactTag);
+}
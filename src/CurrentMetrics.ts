@@ -0,0 +1,9 @@
+import { Metrics } from './SafeArea.types';
+
+export function getCurrentWindowMetrics(): Metrics | null {
+  return null;
+}
+
+export function getCurrentProviderMetrics(_reactTag: number): Metrics | null {
+  return null;
+}
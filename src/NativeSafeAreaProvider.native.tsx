@@ -1,6 +1,87 @@
-import { requireNativeComponent } from 'react-native';
-import { NativeSafeAreaProviderProps } from './SafeArea.types';
+import * as React from 'react';
+import { NativeSyntheticEvent, requireNativeComponent } from 'react-native';
+import {
+  EdgeInsets,
+  InsetChangedEvent,
+  Metrics,
+  NativeSafeAreaProviderProps,
+  Rect,
+} from './SafeArea.types';
 
-export default requireNativeComponent<NativeSafeAreaProviderProps>(
-  'RNCSafeAreaProvider',
-);
+/**
+ * Payload of the native insets event. With the `delta` format only the values
+ * that changed are sent along with a version number. With the `compact` format
+ * all the values are sent in `m` in the order top, right, bottom, left, x, y,
+ * width, height.
+ */
+interface NativeInsetsChangePayload {
+  version?: number;
+  insets?: Partial<EdgeInsets>;
+  frame?: Partial<Rect>;
+  m?: number[];
+}
+
+type NativeProps = Omit<NativeSafeAreaProviderProps, 'onInsetsChange'> & {
+  onInsetsChange: (
+    event: NativeSyntheticEvent<NativeInsetsChangePayload>,
+  ) => void;
+  imeInsetsEnabled?: boolean;
+};
+
+const RNCSafeAreaProvider =
+  requireNativeComponent<NativeProps>('RNCSafeAreaProvider');
+
+export default function NativeSafeAreaProvider({
+  onInsetsChange,
+  onImeInsetsChange,
+  ...rest
+}: NativeSafeAreaProviderProps) {
+  const lastMetrics = React.useRef<Metrics | null>(null);
+  const lastVersion = React.useRef(0);
+
+  const onNativeInsetsChange = React.useCallback(
+    (event: NativeSyntheticEvent<NativeInsetsChangePayload>) => {
+      const { nativeEvent } = event;
+      if (nativeEvent.m != null) {
+        const m = nativeEvent.m;
+        const compactMetrics = {
+          insets: { top: m[0], right: m[1], bottom: m[2], left: m[3] },
+          frame: { x: m[4], y: m[5], width: m[6], height: m[7] },
+        };
+        lastMetrics.current = compactMetrics;
+        // @ts-ignore: missing properties
+        onInsetsChange({ nativeEvent: compactMetrics });
+        return;
+      }
+      if (nativeEvent.version == null) {
+        lastMetrics.current = nativeEvent as Metrics;
+        onInsetsChange(event as InsetChangedEvent);
+        return;
+      }
+      if (nativeEvent.version <= lastVersion.current) {
+        return;
+      }
+      lastVersion.current = nativeEvent.version;
+      // The first event always contains all the values so merging into an
+      // empty object is fine if we don't have previous metrics.
+      const metrics = {
+        insets: { ...lastMetrics.current?.insets, ...nativeEvent.insets },
+        frame: { ...lastMetrics.current?.frame, ...nativeEvent.frame },
+      } as Metrics;
+      lastMetrics.current = metrics;
+      // @ts-ignore: missing properties
+      onInsetsChange({ nativeEvent: metrics });
+    },
+    [onInsetsChange],
+  );
+
+  return (
+    <RNCSafeAreaProvider
+      {...rest}
+      onInsetsChange={onNativeInsetsChange}
+      // The native provider only follows the keyboard when someone listens.
+      imeInsetsEnabled={onImeInsetsChange != null ? true : undefined}
+      onImeInsetsChange={onImeInsetsChange}
+    />
+  );
+}
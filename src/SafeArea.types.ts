@@ -31,14 +31,57 @@ export type InsetChangedEvent = NativeSyntheticEvent<Metrics>;
 
 export type InsetChangeNativeCallback = (event: InsetChangedEvent) => void;
 
+export interface ImeInsets {
+  bottom: number;
+  animating: boolean;
+}
+
+export type ImeInsetsChangedEvent = NativeSyntheticEvent<ImeInsets>;
+
+export type InsetsUpdateMode = 'poll' | 'event';
+
+export type InsetsEventFormat = 'full' | 'delta' | 'compact';
+
+export type FrameTracking = 'none' | 'layout' | 'full';
+
+export interface SafeAreaTimerStats {
+  count: number;
+  totalNanos: number;
+  /**
+   * Bucket i counts durations between 2^(i-1) and 2^i nanoseconds.
+   */
+  buckets: number[];
+}
+
+export interface SafeAreaStats {
+  counters: Record<string, number>;
+  timers: Record<string, SafeAreaTimerStats>;
+}
+
 export interface NativeSafeAreaProviderProps {
   children?: React.ReactNode;
   style?: StyleProp<ViewStyle>;
   onInsetsChange: InsetChangeNativeCallback;
+  insetsUpdateMode?: InsetsUpdateMode;
+  insetsEventFormat?: InsetsEventFormat;
+  frameTracking?: FrameTracking;
+  imeInsetsSampleInterval?: number;
+  insetsChangeThreshold?: number;
+  onImeInsetsChange?: (event: ImeInsetsChangedEvent) => void;
 }
 
 export type NativeSafeAreaViewProps = ViewProps & {
   children?: React.ReactNode;
   mode?: 'padding' | 'margin';
   edges?: ReadonlyArray<Edge>;
+  /**
+   * Android only. How the native view synchronizes with the layout after the
+   * insets change.
+   */
+  layoutSync?: 'blocking' | 'deferred' | 'none';
+  /**
+   * Android only. Nested SafeAreaViews only get the insets of the edges this
+   * view doesn't apply.
+   */
+  consumeInsets?: boolean;
 };
@@ -1,7 +1,17 @@
 import * as React from 'react';
 import { Dimensions, StyleProp, StyleSheet, ViewStyle } from 'react-native';
+import { getCurrentWindowMetrics } from './CurrentMetrics';
 import NativeSafeAreaProvider from './NativeSafeAreaProvider';
-import { EdgeInsets, InsetChangedEvent, Metrics, Rect } from './SafeArea.types';
+import {
+  EdgeInsets,
+  FrameTracking,
+  ImeInsetsChangedEvent,
+  InsetChangedEvent,
+  InsetsEventFormat,
+  InsetsUpdateMode,
+  Metrics,
+  Rect,
+} from './SafeArea.types';
 
 export const SafeAreaInsetsContext = React.createContext<EdgeInsets | null>(
   null,
@@ -19,6 +29,32 @@ export interface SafeAreaViewProps {
    */
   initialSafeAreaInsets?: EdgeInsets | null;
   style?: StyleProp<ViewStyle>;
+  /**
+   * Android only. How the native provider detects insets changes.
+   */
+  insetsUpdateMode?: InsetsUpdateMode;
+  /**
+   * Android only. Format of the insets events sent by the native provider.
+   */
+  insetsEventFormat?: InsetsEventFormat;
+  /**
+   * Android only. When the native provider computes its frame.
+   */
+  frameTracking?: FrameTracking;
+  /**
+   * Android 11+ only. Called on every frame of the keyboard animation with the
+   * bottom IME inset.
+   */
+  onImeInsetsChange?: (event: ImeInsetsChangedEvent) => void;
+  /**
+   * Android only. Number of animation frames between two IME insets events.
+   */
+  imeInsetsSampleInterval?: number;
+  /**
+   * Android only. Insets and frame changes smaller than this, in points, are
+   * held back until the values stop changing.
+   */
+  insetsChangeThreshold?: number;
 }
 
 export function SafeAreaProvider({
@@ -26,15 +62,38 @@ export function SafeAreaProvider({
   initialMetrics,
   initialSafeAreaInsets,
   style,
+  insetsUpdateMode,
+  insetsEventFormat,
+  frameTracking,
+  onImeInsetsChange,
+  imeInsetsSampleInterval,
+  insetsChangeThreshold,
 }: SafeAreaViewProps) {
   const parentInsets = useParentSafeAreaInsets();
   const parentFrame = useParentSafeAreaFrame();
+  // Without initial metrics the root provider reads the latest window metrics
+  // synchronously, once, so the first render doesn't have to wait for the
+  // insets change event. Nested providers don't necessarily fill the window so
+  // they start from their parent until the native provider reports its own
+  // metrics.
+  const [windowMetrics] = React.useState<Metrics | null>(() =>
+    parentInsets == null && initialMetrics == null
+      ? getCurrentWindowMetrics()
+      : null,
+  );
   const [insets, setInsets] = React.useState<EdgeInsets | null>(
-    initialMetrics?.insets ?? initialSafeAreaInsets ?? parentInsets ?? null,
+    () =>
+      initialMetrics?.insets ??
+      initialSafeAreaInsets ??
+      parentInsets ??
+      windowMetrics?.insets ??
+      null,
   );
   const [frame, setFrame] = React.useState<Rect>(
-    initialMetrics?.frame ??
-      parentFrame ?? {
+    () =>
+      initialMetrics?.frame ??
+      parentFrame ??
+      windowMetrics?.frame ?? {
         // Backwards compat so we render anyway if we don't have frame.
         x: 0,
         y: 0,
@@ -76,6 +135,12 @@ export function SafeAreaProvider({
     <NativeSafeAreaProvider
       style={[styles.fill, style]}
       onInsetsChange={onInsetsChange}
+      insetsUpdateMode={insetsUpdateMode}
+      insetsEventFormat={insetsEventFormat}
+      frameTracking={frameTracking}
+      imeInsetsSampleInterval={imeInsetsSampleInterval}
+      insetsChangeThreshold={insetsChangeThreshold}
+      onImeInsetsChange={onImeInsetsChange}
     >
       {insets != null ? (
         <SafeAreaFrameContext.Provider value={frame}>
@@ -0,0 +1,19 @@
+import { NativeModules } from 'react-native';
+import { SafeAreaStats } from './SafeArea.types';
+
+const RNCSafeAreaStats = NativeModules.RNCSafeAreaStats;
+
+/**
+ * Returns the counters and latency histograms collected by the native code,
+ * or null when the platform doesn't collect them.
+ */
+export function getSafeAreaStats(): Promise<SafeAreaStats | null> {
+  if (RNCSafeAreaStats == null) {
+    return Promise.resolve(null);
+  }
+  return RNCSafeAreaStats.getStats();
+}
+
+export function resetSafeAreaStats(): void {
+  RNCSafeAreaStats?.reset();
+}
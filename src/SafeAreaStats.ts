@@ -0,0 +1,7 @@
+import { SafeAreaStats } from './SafeArea.types';
+
+export function getSafeAreaStats(): Promise<SafeAreaStats | null> {
+  return Promise.resolve(null);
+}
+
+export function resetSafeAreaStats(): void {}
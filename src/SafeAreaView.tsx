@@ -23,6 +23,9 @@ export function SafeAreaView({
   style = {},
   mode,
   edges,
+  // Android only props.
+  layoutSync,
+  consumeInsets,
   ...rest
 }: NativeSafeAreaViewProps) {
   const insets = useSafeAreaInsets();
@@ -0,0 +1,59 @@
+import { NativeModules } from 'react-native';
+import { Metrics } from '../SafeArea.types';
+
+const testMetrics: Metrics = {
+  insets: {
+    top: 20,
+    left: 0,
+    right: 0,
+    bottom: 0,
+  },
+  frame: {
+    x: 0,
+    y: 0,
+    height: 100,
+    width: 100,
+  },
+};
+
+describe('CurrentMetrics', () => {
+  afterEach(() => {
+    delete (global as any).nativeCallSyncHook;
+  });
+
+  it('is null when the native module is not available', () => {
+    jest.resetModules();
+    NativeModules.RNCSafeAreaMetrics = undefined;
+    (global as any).nativeCallSyncHook = jest.fn();
+    const { getCurrentWindowMetrics } = require('../CurrentMetrics');
+    expect(getCurrentWindowMetrics()).toBe(null);
+  });
+
+  it('is null when synchronous calls are not available', () => {
+    jest.resetModules();
+    NativeModules.RNCSafeAreaMetrics = {
+      getWindowMetrics: jest.fn(() => testMetrics),
+    };
+    const { getCurrentWindowMetrics } = require('../CurrentMetrics');
+    expect(getCurrentWindowMetrics()).toBe(null);
+    expect(NativeModules.RNCSafeAreaMetrics.getWindowMetrics).not.toBeCalled();
+  });
+
+  it('reads the metrics synchronously from the native module', () => {
+    jest.resetModules();
+    NativeModules.RNCSafeAreaMetrics = {
+      getWindowMetrics: jest.fn(() => testMetrics),
+      getProviderMetrics: jest.fn(() => testMetrics),
+    };
+    (global as any).nativeCallSyncHook = jest.fn();
+    const {
+      getCurrentWindowMetrics,
+      getCurrentProviderMetrics,
+    } = require('../CurrentMetrics');
+    expect(getCurrentWindowMetrics()).toBe(testMetrics);
+    expect(getCurrentProviderMetrics(3)).toBe(testMetrics);
+    expect(NativeModules.RNCSafeAreaMetrics.getProviderMetrics).toBeCalledWith(
+      3,
+    );
+  });
+});
@@ -0,0 +1,89 @@
+import * as React from 'react';
+import * as ReactTestRenderer from 'react-test-renderer';
+import NativeSafeAreaProvider from '../NativeSafeAreaProvider';
+
+function sendNativeEvent(
+  component: ReactTestRenderer.ReactTestRenderer,
+  nativeEvent: object,
+) {
+  const { onInsetsChange } = component.root.findByType(
+    // @ts-ignore: the native component is rendered as a host component in tests
+    'RNCSafeAreaProvider',
+  ).props;
+  ReactTestRenderer.act(() => {
+    onInsetsChange({ nativeEvent });
+  });
+}
+
+describe('NativeSafeAreaProvider', () => {
+  it('forwards full events', () => {
+    const onInsetsChange = jest.fn();
+    const component = ReactTestRenderer.create(
+      <NativeSafeAreaProvider onInsetsChange={onInsetsChange} />,
+    );
+    const metrics = {
+      insets: { top: 1, right: 2, bottom: 3, left: 4 },
+      frame: { x: 0, y: 0, width: 100, height: 200 },
+    };
+    sendNativeEvent(component, metrics);
+    expect(onInsetsChange).toHaveBeenCalledTimes(1);
+    expect(onInsetsChange.mock.calls[0][0].nativeEvent).toEqual(metrics);
+  });
+
+  it('merges delta events into the previous metrics', () => {
+    const onInsetsChange = jest.fn();
+    const component = ReactTestRenderer.create(
+      <NativeSafeAreaProvider
+        onInsetsChange={onInsetsChange}
+        insetsEventFormat="delta"
+      />,
+    );
+    sendNativeEvent(component, {
+      version: 1,
+      insets: { top: 1, right: 2, bottom: 3, left: 4 },
+      frame: { x: 0, y: 0, width: 100, height: 200 },
+    });
+    sendNativeEvent(component, {
+      version: 2,
+      insets: { bottom: 30 },
+    });
+    expect(onInsetsChange).toHaveBeenCalledTimes(2);
+    expect(onInsetsChange.mock.calls[1][0].nativeEvent).toEqual({
+      insets: { top: 1, right: 2, bottom: 30, left: 4 },
+      frame: { x: 0, y: 0, width: 100, height: 200 },
+    });
+  });
+
+  it('decodes compact events', () => {
+    const onInsetsChange = jest.fn();
+    const component = ReactTestRenderer.create(
+      <NativeSafeAreaProvider
+        onInsetsChange={onInsetsChange}
+        insetsEventFormat="compact"
+      />,
+    );
+    sendNativeEvent(component, { m: [1, 2, 3, 4, 0, 10, 100, 200] });
+    expect(onInsetsChange).toHaveBeenCalledTimes(1);
+    expect(onInsetsChange.mock.calls[0][0].nativeEvent).toEqual({
+      insets: { top: 1, right: 2, bottom: 3, left: 4 },
+      frame: { x: 0, y: 10, width: 100, height: 200 },
+    });
+  });
+
+  it('ignores stale delta events', () => {
+    const onInsetsChange = jest.fn();
+    const component = ReactTestRenderer.create(
+      <NativeSafeAreaProvider
+        onInsetsChange={onInsetsChange}
+        insetsEventFormat="delta"
+      />,
+    );
+    sendNativeEvent(component, {
+      version: 2,
+      insets: { top: 1, right: 2, bottom: 3, left: 4 },
+      frame: { x: 0, y: 0, width: 100, height: 200 },
+    });
+    sendNativeEvent(component, { version: 1, insets: { top: 10 } });
+    expect(onInsetsChange).toHaveBeenCalledTimes(1);
+  });
+});
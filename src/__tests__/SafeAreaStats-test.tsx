@@ -0,0 +1,33 @@
+import { NativeModules } from 'react-native';
+
+describe('SafeAreaStats', () => {
+  it('returns null when the native module is not available', async () => {
+    jest.resetModules();
+    NativeModules.RNCSafeAreaStats = undefined;
+    const {
+      getSafeAreaStats,
+      resetSafeAreaStats,
+    } = require('../SafeAreaStats');
+    expect(await getSafeAreaStats()).toBe(null);
+    expect(() => resetSafeAreaStats()).not.toThrow();
+  });
+
+  it('reads the stats from the native module', async () => {
+    jest.resetModules();
+    const stats = {
+      counters: { preDraw: 2 },
+      timers: { preDraw: { count: 2, totalNanos: 300, buckets: [0, 2] } },
+    };
+    NativeModules.RNCSafeAreaStats = {
+      getStats: jest.fn(() => Promise.resolve(stats)),
+      reset: jest.fn(),
+    };
+    const {
+      getSafeAreaStats,
+      resetSafeAreaStats,
+    } = require('../SafeAreaStats');
+    expect(await getSafeAreaStats()).toBe(stats);
+    resetSafeAreaStats();
+    expect(NativeModules.RNCSafeAreaStats.reset).toBeCalled();
+  });
+});
@@ -1,4 +1,6 @@
 export * from './SafeAreaContext';
 export * from './SafeAreaView';
 export * from './InitialWindow';
+export * from './CurrentMetrics';
+export * from './SafeAreaStats';
 export * from './SafeArea.types';